@@ -0,0 +1,80 @@
+package gr.aueb.cf.inventorymanagementsystem.core.specifications;
+
+import gr.aueb.cf.inventorymanagementsystem.model.Category;
+import gr.aueb.cf.inventorymanagementsystem.model.Order;
+import gr.aueb.cf.inventorymanagementsystem.model.OrderItem;
+import gr.aueb.cf.inventorymanagementsystem.model.Product;
+import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the criteria query of the product filters, the same composition that
+ * {@code ProductService} uses. Hibernate is bootstrapped on an in-memory H2 database
+ * only to get a {@link CriteriaBuilder}; no SQL is executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder builder;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(Supplier.class)
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(OrderItem.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .buildSessionFactory();
+        builder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<Product> noFilters() {
+        return buildQuery(specs(null, null, null));
+    }
+
+    @Benchmark
+    public CriteriaQuery<Product> allFilters() {
+        return buildQuery(specs("lap", "Supplier", "Category"));
+    }
+
+    private Specification<Product> specs(String name, String supplierName, String categoryName) {
+        return Specification
+                .where(ProductSpecification.trStringFieldLike("name", name))
+                .and(ProductSpecification.trSupplierNameIs(supplierName))
+                .and(ProductSpecification.trCategoryNameIs(categoryName));
+    }
+
+    private CriteriaQuery<Product> buildQuery(Specification<Product> spec) {
+        CriteriaQuery<Product> query = builder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        return query.where(spec.toPredicate(root, query, builder));
+    }
+}
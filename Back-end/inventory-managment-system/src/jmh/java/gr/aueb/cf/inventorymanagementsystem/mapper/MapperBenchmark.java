@@ -0,0 +1,101 @@
+package gr.aueb.cf.inventorymanagementsystem.mapper;
+
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderReadOnlyDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductReadOnlyDTO;
+import gr.aueb.cf.inventorymanagementsystem.model.Category;
+import gr.aueb.cf.inventorymanagementsystem.model.Order;
+import gr.aueb.cf.inventorymanagementsystem.model.Product;
+import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping on detached, fully initialized entities, so that only the
+ * cost of {@link Mapper} itself is measured.
+ *
+ * <p>Each benchmark has its own state, so it only runs with the parameter it reads.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    private static final Supplier SUPPLIER = new Supplier(1L, "Supplier", "supplier@mail.com", "2100000000");
+    private static final Category CATEGORY = new Category(1L, "Category");
+
+    @State(Scope.Benchmark)
+    public static class OrderState {
+
+        @Param({"10", "1000", "10000"})
+        private int orderItems;
+
+        private Mapper mapper;
+        private Order order;
+
+        @Setup
+        public void setUp() {
+            mapper = newMapper();
+
+            order = new Order();
+            order.setId(1L);
+            order.setSupplier(SUPPLIER);
+            order.setOrderDate(LocalDate.now());
+            for (Product product : products(orderItems)) {
+                order.addOrderItem(product, 1);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ProductPageState {
+
+        @Param({"20", "200"})
+        private int pageSize;
+
+        private Mapper mapper;
+        private Page<Product> productPage;
+
+        @Setup
+        public void setUp() {
+            mapper = newMapper();
+            productPage = new PageImpl<>(products(pageSize), PageRequest.of(0, pageSize), pageSize);
+        }
+    }
+
+    @Benchmark
+    public OrderReadOnlyDTO mapToOrderReadOnlyDTO(OrderState state) {
+        return state.mapper.mapToOrderReadOnlyDTO(state.order);
+    }
+
+    @Benchmark
+    public Page<ProductReadOnlyDTO> mapProductPage(ProductPageState state) {
+        return state.productPage.map(state.mapper::mapToProductReadOnlyDTO);
+    }
+
+    private static Mapper newMapper() {
+        return new Mapper(new BCryptPasswordEncoder());
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            products.add(new Product(i, "Product " + i, "Description " + i, 9.99, 100,
+                    SUPPLIER, CATEGORY, null));
+        }
+        return products;
+    }
+}
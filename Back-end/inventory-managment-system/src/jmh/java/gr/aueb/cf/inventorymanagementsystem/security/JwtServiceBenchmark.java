@@ -0,0 +1,77 @@
+package gr.aueb.cf.inventorymanagementsystem.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token.
+ * <p>
+ * {@code perRequestRebuild} reproduces the previous {@link JwtService} behaviour, where every
+ * claim lookup decoded the secret, built a new parser and verified the token again
+ * (subject, role, and subject + expiration in {@code isTokenValid}: four parses per request).
+ * {@code perRequestSharedParser} is the current path of the JWT filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private String secretKey;
+    private String token;
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        byte[] keyBytes = new byte[48];
+        new SecureRandom().nextBytes(keyBytes);
+        secretKey = Encoders.BASE64.encode(keyBytes);
+        jwtService = new JwtService(secretKey);
+        token = jwtService.generateToken("benchmark", "ADMIN");
+        userDetails = User.withUsername("benchmark").password("").authorities("ADMIN").build();
+    }
+
+    @Benchmark
+    public boolean perRequestRebuild() {
+        String subject = parseWithNewParser().getSubject();
+        String role = parseWithNewParser().get("role", String.class);
+        boolean valid = parseWithNewParser().getSubject().equals(userDetails.getUsername())
+                && !parseWithNewParser().getExpiration().before(new Date());
+        return valid && subject != null && role != null;
+    }
+
+    @Benchmark
+    public boolean perRequestSharedParser() {
+        Claims claims = jwtService.parseClaims(token);
+        String subject = claims.getSubject();
+        String role = claims.get("role", String.class);
+        return jwtService.isTokenValid(claims, userDetails) && subject != null && role != null;
+    }
+
+    private Claims parseWithNewParser() {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        return Jwts
+                .parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -2,12 +2,16 @@ package gr.aueb.cf.inventorymanagementsystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
 @EnableScheduling
+// Caching wraps the transaction, so evictions run after commit and cache hits skip the transaction
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class InventoryManagmentSystemApplication {
 
     public static void main(String[] args) {
@@ -1,6 +1,7 @@
 package gr.aueb.cf.inventorymanagementsystem.authentication;
 
 import gr.aueb.cf.inventorymanagementsystem.security.JwtService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,10 +10,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -28,6 +32,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+
+    // Αν είναι true, ο χρήστης δημιουργείται από το role claim του token χωρίς query στη βάση
+    @Value("${application.security.jwt.trusted-claims:false}")
+    private boolean trustedClaims;
 
     @Override
     protected void doFilterInternal(
@@ -47,15 +56,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 
         try {
-            username = jwtService.extractSubject(jwt);
-            userRole = jwtService.getStringClaim(jwt, "role");
+            // Το token γίνεται parse μία φορά ανά request
+            final Claims claims = jwtService.parseClaims(jwt);
+            username = claims.getSubject();
+            userRole = claims.get("role", String.class);
 
 //            System.out.println("wwww JWT extracted.. ROLE: " + userRole);
 //            System.out.println("wwww JWT extracted.. ID: " + username);
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = (trustedClaims && userRole != null)
+                        ? User.withUsername(username).password("").authorities(userRole).build()
+                        : loadUser(username);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
 //                    System.out.println("Token is valid: " + request.getRequestURI());
 //                    System.out.println("userDetails getAuthorities: " + userDetails.getAuthorities());
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -67,7 +80,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 } else {
-                    System.out.println("Token is NOT valid: " + request.getRequestURI());
+                    LOGGER.debug("Token is NOT valid: {}", request.getRequestURI());
                 }
             }
         } catch (ExpiredJwtException e) {
@@ -87,4 +100,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Loads the user from the principal cache, falling back to the {@link UserDetailsService}
+     * on a miss. The cache is evicted by {@code UserService} when a user changes.
+     */
+    private UserDetails loadUser(String username) {
+        UserDetails userDetails = userCache.getUserFromCache(username);
+        if (userDetails == null) {
+            userDetails = this.userDetailsService.loadUserByUsername(username);
+            userCache.putUserInCache(userDetails);
+        }
+        return userDetails;
+    }
 }
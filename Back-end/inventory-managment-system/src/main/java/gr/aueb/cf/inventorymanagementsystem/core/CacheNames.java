@@ -0,0 +1,18 @@
+package gr.aueb.cf.inventorymanagementsystem.core;
+
+/**
+ * Names of the caches configured with {@code spring.cache.cache-names}.
+ */
+public final class CacheNames {
+
+    public static final String CATEGORIES_BY_NAME = "categoriesByName";
+    public static final String ALL_CATEGORIES = "allCategories";
+    public static final String SUPPLIERS_BY_NAME = "suppliersByName";
+    public static final String SUPPLIERS_BY_PHONE_NUMBER = "suppliersByPhoneNumber";
+    public static final String ALL_SUPPLIERS = "allSuppliers";
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+
+    private CacheNames() {
+
+    }
+}
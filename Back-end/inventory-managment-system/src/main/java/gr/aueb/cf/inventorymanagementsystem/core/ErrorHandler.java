@@ -50,6 +50,11 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(new ResponseMessageDTO(e.getCode(), e.getMessage()), HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler({AppTooManyRequestsException.class})
+    public ResponseEntity<ResponseMessageDTO> handleConstraintViolationException(AppTooManyRequestsException e, WebRequest request) {
+        return new ResponseEntity<>(new ResponseMessageDTO(e.getCode(), e.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler({AppServerException.class})
     public ResponseEntity<ResponseMessageDTO> handleConstraintViolationException(AppServerException e, WebRequest request) {
         return new ResponseEntity<>(new ResponseMessageDTO(e.getCode(), e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
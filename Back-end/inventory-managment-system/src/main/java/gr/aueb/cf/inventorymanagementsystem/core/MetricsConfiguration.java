@@ -0,0 +1,24 @@
+package gr.aueb.cf.inventorymanagementsystem.core;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@link io.micrometer.core.annotation.Timed} on the services.
+ *
+ * <p>REST endpoints are timed by Spring MVC ({@code http.server.requests}), and Hikari, Hibernate
+ * and JVM metrics are bound by Spring Boot Actuator. Everything is scraped from
+ * {@code /actuator/prometheus}.</p>
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    public static final String SERVICE_TIMER = "inventory.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
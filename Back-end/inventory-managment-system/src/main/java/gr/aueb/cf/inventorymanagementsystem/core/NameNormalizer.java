@@ -0,0 +1,47 @@
+package gr.aueb.cf.inventorymanagementsystem.core;
+
+import java.util.Locale;
+
+/**
+ * Case folding of the names stored in the {@code name_normalized} columns.
+ *
+ * <p>The filters compare the normalized column with a normalized value, so the predicate is a
+ * plain {@code LIKE 'X%'} or {@code =} on an indexed column instead of {@code UPPER(name)}, which
+ * no btree index can serve. Names are folded to upper case, as the previous {@code UPPER()}
+ * filters did; upper case also maps both Greek sigma forms to the same letter.</p>
+ */
+public final class NameNormalizer {
+
+    /** Escape character of the LIKE patterns built by {@link #prefixPattern(String)}. */
+    public static final char LIKE_ESCAPE = '!';
+
+    private NameNormalizer() {
+
+    }
+
+    public static String normalize(String name) {
+        return name != null ? name.toUpperCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Builds a case-insensitive prefix LIKE pattern for the given value, to be matched against a
+     * {@code name_normalized} column. A pattern without a leading wildcard lets the LIKE read a
+     * range of the column index. Wildcards typed by the user are escaped, so a leading {@code %}
+     * cannot turn the range scan into a full scan.
+     *
+     * @param value the typed value
+     * @return the normalized pattern, to be used with {@link #LIKE_ESCAPE}
+     */
+    public static String prefixPattern(String value) {
+        String normalized = normalize(value);
+        StringBuilder pattern = new StringBuilder(normalized.length() + 1);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,26 @@
+package gr.aueb.cf.inventorymanagementsystem.core;
+
+import gr.aueb.cf.inventorymanagementsystem.service.OrderSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the daily order summary at startup when the application is started with
+ * {@code --rebuild-order-summary}, e.g. after a bulk load of orders outside the application.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryRebuildRunner implements ApplicationRunner {
+
+    private static final String OPTION = "rebuild-order-summary";
+    private final OrderSummaryService orderSummaryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            orderSummaryService.rebuild();
+        }
+    }
+}
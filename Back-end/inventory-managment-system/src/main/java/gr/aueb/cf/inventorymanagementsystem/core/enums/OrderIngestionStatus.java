@@ -0,0 +1,7 @@
+package gr.aueb.cf.inventorymanagementsystem.core.enums;
+
+public enum OrderIngestionStatus {
+    QUEUED,
+    COMPLETED,
+    FAILED
+}
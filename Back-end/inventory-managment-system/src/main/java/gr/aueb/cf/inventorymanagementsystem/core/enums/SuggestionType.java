@@ -0,0 +1,7 @@
+package gr.aueb.cf.inventorymanagementsystem.core.enums;
+
+public enum SuggestionType {
+    PRODUCT,
+    SUPPLIER,
+    CATEGORY
+}
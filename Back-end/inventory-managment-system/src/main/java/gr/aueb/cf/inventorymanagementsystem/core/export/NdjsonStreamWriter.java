@@ -0,0 +1,61 @@
+package gr.aueb.cf.inventorymanagementsystem.core.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a {@link Stream} as newline delimited JSON (application/x-ndjson).
+ *
+ * <p>Every element is serialized and written as soon as it is read from the stream,
+ * so the memory used stays the same no matter how many rows are exported.</p>
+ *
+ * <p>The export services pass a repository {@link Stream} that reads the rows with a fetch size.
+ * Such a stream needs an open connection, so the caller's read-only transaction stays open
+ * until the last row is written.</p>
+ */
+@Component
+public class NdjsonStreamWriter {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final int NEW_LINE = '\n';
+
+    private final ObjectWriter objectWriter;
+
+    public NdjsonStreamWriter(ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Writes each element of the stream as one JSON line.
+     *
+     * @param items        the elements to write. The stream is not closed by this method.
+     * @param outputStream the response output stream
+     * @return the number of elements written
+     * @throws IOException if writing to the output stream fails
+     */
+    public <T> long write(Stream<T> items, OutputStream outputStream) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(outputStream);
+        long count = 0;
+
+        Iterator<T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            objectWriter.writeValue(out, iterator.next());
+            out.write(NEW_LINE);
+
+            if (++count % FLUSH_EVERY == 0) {
+                out.flush();
+            }
+        }
+
+        out.flush();
+        return count;
+    }
+}
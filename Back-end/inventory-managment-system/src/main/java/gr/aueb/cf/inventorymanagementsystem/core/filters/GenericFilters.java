@@ -7,11 +7,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.util.Set;
+
 @Getter
 @Setter
 public abstract class GenericFilters {
     private final static int DEFAULT_PAGE_SIZE = 10;
     private static final String DEFAULT_SORT_COLUMN = "name";
+    private static final Set<String> DEFAULT_SORTABLE_COLUMNS = Set.of("id", "name");
     private static final Sort.Direction DEFAULT_SORT_DIRECTION = Sort.Direction.ASC;
 
     private int page;
@@ -19,6 +22,10 @@ public abstract class GenericFilters {
     private Sort.Direction sortDirection;
     private String sortBy;
 
+    // Keyset mode: opaque cursor of the last row returned (null for the first window)
+    private String cursor;
+    private boolean withTotalCount;
+
     public int getPageSize() {
         return pageSize <= 0 ? DEFAULT_PAGE_SIZE : pageSize;
     }
@@ -32,11 +39,28 @@ public abstract class GenericFilters {
         return this.sortDirection;
     }
 
+    /**
+     * The sort column, or the default column when {@code sortBy} is empty or not one of
+     * {@link #getSortableColumns()}.
+     */
     public String getSortBy(){
-        if (this.sortBy == null || StringUtils.isBlank(this.sortBy)) return DEFAULT_SORT_COLUMN;
+        if (this.sortBy == null || StringUtils.isBlank(this.sortBy)) return getDefaultSortColumn();
+        if (!getSortableColumns().contains(this.sortBy)) return getDefaultSortColumn();
         return this.sortBy;
     }
 
+    protected String getDefaultSortColumn() {
+        return DEFAULT_SORT_COLUMN;
+    }
+
+    /**
+     * The columns a client may sort by. Each one is served by an index (together with the
+     * filters of the entity), so no user driven sort needs a filesort over the whole table.
+     */
+    protected Set<String> getSortableColumns() {
+        return DEFAULT_SORTABLE_COLUMNS;
+    }
+
     public Pageable getPageable(){
         return PageRequest.of(getPage(), getPageSize(), getSort());
     }
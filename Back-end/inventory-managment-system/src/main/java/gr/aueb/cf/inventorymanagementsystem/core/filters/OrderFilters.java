@@ -3,6 +3,8 @@ package gr.aueb.cf.inventorymanagementsystem.core.filters;
 import lombok.*;
 import org.springframework.lang.Nullable;
 
+import java.util.Set;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -10,6 +12,18 @@ import org.springframework.lang.Nullable;
 @ToString
 @Builder
 public class OrderFilters extends GenericFilters{
+    private static final Set<String> SORTABLE_COLUMNS = Set.of("id", "orderDate");
+
     @Nullable
     private String name;
+
+    @Override
+    protected String getDefaultSortColumn() {
+        return "orderDate";
+    }
+
+    @Override
+    protected Set<String> getSortableColumns() {
+        return SORTABLE_COLUMNS;
+    }
 }
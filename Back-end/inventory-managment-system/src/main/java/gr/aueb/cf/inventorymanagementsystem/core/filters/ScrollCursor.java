@@ -0,0 +1,87 @@
+package gr.aueb.cf.inventorymanagementsystem.core.filters;
+
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Utility class that turns a keyset {@link ScrollPosition} into an opaque cursor and back.
+ *
+ * <p>The cursor holds the values of the sort column and of the id of the last row of a
+ * window, e.g. {@code (name, id)} or {@code (orderDate, id)}. Each value keeps its type,
+ * so the next window is queried with {@code WHERE (sortBy, id) > (?, ?)} instead of an
+ * OFFSET.</p>
+ */
+public class ScrollCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ScrollCursor() {
+
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+
+        StringJoiner joiner = new StringJoiner("&");
+        keyset.getKeys().forEach((key, value) -> joiner.add(encodeEntry(key, value)));
+        return ENCODER.encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScrollPosition decode(String cursor) throws AppObjectInvalidArgumentException {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String entry : decoded.split("&")) {
+                String[] parts = entry.split("=", 2);
+                String[] typeAndValue = parts[1].split(":", 2);
+                keys.put(parts[0], decodeValue(typeAndValue[0], URLDecoder.decode(typeAndValue[1], StandardCharsets.UTF_8)));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new AppObjectInvalidArgumentException("Cursor", "Invalid cursor: " + cursor);
+        }
+    }
+
+    private static String encodeEntry(String key, Object value) {
+        String type;
+        if (value instanceof String) type = "s";
+        else if (value instanceof Long) type = "l";
+        else if (value instanceof Integer) type = "i";
+        else if (value instanceof Double) type = "d";
+        else if (value instanceof LocalDate) type = "D";
+        else if (value instanceof LocalDateTime) type = "T";
+        else throw new IllegalArgumentException("Unsupported cursor value type for " + key + ": " + value);
+
+        return key + "=" + type + ":" + URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static Object decodeValue(String type, String value) {
+        return switch (type) {
+            case "s" -> value;
+            case "l" -> Long.valueOf(value);
+            case "i" -> Integer.valueOf(value);
+            case "d" -> Double.valueOf(value);
+            case "D" -> LocalDate.parse(value);
+            case "T" -> LocalDateTime.parse(value);
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package gr.aueb.cf.inventorymanagementsystem.core.filters;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) based counterpart of {@link Paginated}.
+ *
+ * <p>Pass {@code nextCursor} back as the {@code cursor} filter to get the next window.
+ * The total count is only filled in when it was requested, so by default a window costs
+ * a single query no matter how deep it is.</p>
+ */
+@Getter
+@Setter
+public class Scrolled<T> {
+
+    List<T> data;
+    int numberOfElements;
+    int pageSize;
+    boolean hasNext;
+    String nextCursor;
+    Long totalElements;
+
+    public Scrolled(Window<T> window, int pageSize, Long totalElements) {
+        this.data = window.getContent();
+        this.numberOfElements = window.size();
+        this.pageSize = pageSize;
+        this.hasNext = window.hasNext();
+        this.nextCursor = window.hasNext() ? ScrollCursor.encode(window.positionAt(window.size() - 1)) : null;
+        this.totalElements = totalElements;
+    }
+}
@@ -0,0 +1,30 @@
+package gr.aueb.cf.inventorymanagementsystem.core.imports;
+
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ImportFormat fromContentType(String contentType) throws AppObjectInvalidArgumentException {
+        try {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // handled below
+        }
+        throw new AppObjectInvalidArgumentException("ImportFormat", "Unsupported content type: " + contentType);
+    }
+}
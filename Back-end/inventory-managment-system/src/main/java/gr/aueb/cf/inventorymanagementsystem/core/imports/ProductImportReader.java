@@ -0,0 +1,132 @@
+package gr.aueb.cf.inventorymanagementsystem.core.imports;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads {@link ProductImportRow}s one record at a time from a CSV or NDJSON stream, so the
+ * input is never held in memory as a whole.
+ *
+ * <p>A CSV input starts with a header line naming the columns ({@code name, description,
+ * price, quantity, supplierName, categoryName}, in any order). Quoted fields may contain
+ * commas, quotes and line breaks; the line number of a row is the line its record starts on.</p>
+ *
+ * <p>A row with invalid values is reported with an {@link AppObjectInvalidArgumentException}
+ * and reading continues with the next row. A CSV syntax error, such as a quote that is never
+ * closed, leaves the start of the next record unknown, so it ends the input.</p>
+ */
+public class ProductImportReader implements Closeable {
+
+    private static final ObjectReader CSV_RECORD_READER = new CsvMapper()
+            .readerForMapOf(String.class)
+            .with(CsvSchema.emptySchema().withHeader())
+            .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .with(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private MappingIterator<Map<String, String>> csvRecords;
+    private boolean ended;
+    private long lineNumber;
+
+    public ProductImportReader(ObjectMapper objectMapper, InputStream inputStream, ImportFormat format) {
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(ProductImportRow.class);
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.format = format;
+    }
+
+    /**
+     * @return the next row, or {@code null} at the end of the input
+     * @throws AppObjectInvalidArgumentException if the current row cannot be parsed
+     * @throws IOException if reading the input fails
+     */
+    public ProductImportRow next() throws AppObjectInvalidArgumentException, IOException {
+        if (ended) {
+            return null;
+        }
+
+        ProductImportRow row = (format == ImportFormat.CSV) ? nextCsvRecord() : nextJsonLine();
+        if (row != null) {
+            row.setLineNumber(lineNumber);
+        }
+        return row;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ProductImportRow nextJsonLine() throws AppObjectInvalidArgumentException, IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            return rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new AppObjectInvalidArgumentException("ImportRow", "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ProductImportRow nextCsvRecord() throws AppObjectInvalidArgumentException, IOException {
+        Map<String, String> record;
+        try {
+            if (csvRecords == null) {
+                csvRecords = CSV_RECORD_READER.readValues(reader);
+            }
+            if (!csvRecords.hasNextValue()) {
+                return null;
+            }
+            // Η εγγραφή μπορεί να εκτείνεται σε πολλές γραμμές, κρατάμε τη γραμμή όπου ξεκινά
+            lineNumber = csvRecords.getCurrentLocation().getLineNr();
+            record = csvRecords.nextValue();
+        } catch (JsonProcessingException e) {
+            ended = true;
+            JsonLocation location = e.getLocation();
+            if (location != null && location.getLineNr() > 0) {
+                lineNumber = location.getLineNr();
+            }
+            throw new AppObjectInvalidArgumentException("ImportRow", "Invalid CSV: " + e.getOriginalMessage());
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        record.forEach((column, value) ->
+                fields.put(column.trim(), (value == null || value.isBlank()) ? null : value.trim()));
+
+        try {
+            return objectMapper.convertValue(fields, ProductImportRow.class);
+        } catch (IllegalArgumentException e) {
+            throw new AppObjectInvalidArgumentException("ImportRow",
+                    "Invalid CSV value: " + e.getMessage().lines().findFirst().orElse(""));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package gr.aueb.cf.inventorymanagementsystem.core.imports;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One product of a bulk import, as read from a CSV or an NDJSON line.
+ * Supplier and category are referenced by name.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class ProductImportRow {
+
+    @JsonIgnore
+    private long lineNumber;
+
+    private String name;
+    private String description;
+    private Double price;
+    private Integer quantity;
+    private String supplierName;
+    private String categoryName;
+}
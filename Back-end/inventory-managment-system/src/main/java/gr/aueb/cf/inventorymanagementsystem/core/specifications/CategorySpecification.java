@@ -1,5 +1,6 @@
 package gr.aueb.cf.inventorymanagementsystem.core.specifications;
 
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
 import gr.aueb.cf.inventorymanagementsystem.model.Category;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -17,10 +18,11 @@ public class CategorySpecification {
 
 
 
+    /** Matches {@code field + "Normalized"} with {@link NameNormalizer#prefixPattern(String)}. */
     public static Specification<Category> trStringFieldLike(String field, String value) {
         return (root, query, builder) -> {
             if (value == null || value.trim().isEmpty()) return builder.isTrue(builder.literal(true));
-            return builder.like(builder.upper(root.get(field)), value.toUpperCase() + "%");
+            return builder.like(root.get(field + "Normalized"), NameNormalizer.prefixPattern(value), NameNormalizer.LIKE_ESCAPE);
         };
     }
 
@@ -1,7 +1,7 @@
 package gr.aueb.cf.inventorymanagementsystem.core.specifications;
 
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
 import gr.aueb.cf.inventorymanagementsystem.model.Order;
-import gr.aueb.cf.inventorymanagementsystem.model.Product;
 import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
 import jakarta.persistence.criteria.Join;
 import org.springframework.data.jpa.domain.Specification;
@@ -21,19 +21,13 @@ public class OrderSpecification {
             // Δημιουργία join με τον πίνακα suppliers
             Join<Order, Supplier> supplierJoin = root.join("supplier");
 
-            // Προσθήκη του φίλτρου για το όνομα
+            // Προσθήκη του φίλτρου για το όνομα, στην κανονικοποιημένη στήλη ώστε να χρησιμοποιείται το index
             return builder.like(
-                    builder.lower(supplierJoin.get("name")),
-                     name.toLowerCase() + "%"
+                    supplierJoin.get("nameNormalized"),
+                    NameNormalizer.prefixPattern(name),
+                    NameNormalizer.LIKE_ESCAPE
             );
         };
     }
 
-    public static Specification<Order> trStringFieldLike(String field, String value) {
-        return (root, query, builder) -> {
-            if (value == null || value.trim().isEmpty()) return builder.isTrue(builder.literal(true));
-            return builder.like(builder.upper(root.get(field)), value.toUpperCase() + "%");
-        };
-    }
-
 }
@@ -1,5 +1,6 @@
 package gr.aueb.cf.inventorymanagementsystem.core.specifications;
 
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
 import gr.aueb.cf.inventorymanagementsystem.model.Category;
 import gr.aueb.cf.inventorymanagementsystem.model.Product;
 import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
@@ -27,7 +28,7 @@ public class ProductSpecification {
 
             Join<Product, Supplier> supplier = root.join("supplier");
 
-            return builder.equal(supplier.get("name"), name);
+            return builder.equal(supplier.get("nameNormalized"), NameNormalizer.normalize(name));
         };
     }
 
@@ -41,15 +42,16 @@ public class ProductSpecification {
             // Join με την οντότητα Category που σχετίζεται με την οντότητα Product
             Join<Product, Category> category = root.join("category");
 
-            // Επιστροφή συνθήκης όπου το όνομα της κατηγορίας ταιριάζει με το δοθέν όνομα
-            return builder.equal(category.get("name"), name);
+            // Επιστροφή συνθήκης όπου το όνομα της κατηγορίας ταιριάζει με το δοθέν όνομα (χωρίς διάκριση πεζών/κεφαλαίων)
+            return builder.equal(category.get("nameNormalized"), NameNormalizer.normalize(name));
         };
     }
 
+    /** Matches {@code field + "Normalized"} with {@link NameNormalizer#prefixPattern(String)}. */
     public static Specification<Product> trStringFieldLike(String field, String value) {
         return (root, query, builder) -> {
             if (value == null || value.trim().isEmpty()) return builder.isTrue(builder.literal(true));
-            return builder.like(builder.upper(root.get(field)), value.toUpperCase() + "%");
+            return builder.like(root.get(field + "Normalized"), NameNormalizer.prefixPattern(value), NameNormalizer.LIKE_ESCAPE);
         };
     }
 }
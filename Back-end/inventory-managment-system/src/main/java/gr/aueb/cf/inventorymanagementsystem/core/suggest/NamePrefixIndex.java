@@ -0,0 +1,75 @@
+package gr.aueb.cf.inventorymanagementsystem.core.suggest;
+
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index of names with their ids.
+ *
+ * <p>Entries are kept sorted by {@code normalized name + '\0' + id}, so all names with a given
+ * prefix are a contiguous range and the first {@code k} matches are read by walking the range
+ * from its start, without touching the rest of the index. Reads are lock free; updates are
+ * serialized, so a rename never leaves the old key behind. Both cost {@code O(log n)}.</p>
+ */
+public class NamePrefixIndex {
+
+    private static final char SEPARATOR = '\0';
+
+    public record Entry(Long id, String name) {
+    }
+
+    // sort key -> όνομα όπως αποθηκεύτηκε
+    private final ConcurrentSkipListMap<String, String> names = new ConcurrentSkipListMap<>();
+    // id -> sort key, για διαγραφή/μετονομασία
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+    public synchronized void put(Long id, String name) {
+        if (id == null || name == null) {
+            return;
+        }
+        String key = NameNormalizer.normalize(name) + SEPARATOR + id;
+        String previous = keysById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            names.remove(previous);
+        }
+        names.put(key, name);
+    }
+
+    public synchronized void remove(Long id) {
+        String key = keysById.remove(id);
+        if (key != null) {
+            names.remove(key);
+        }
+    }
+
+    public synchronized void clear() {
+        names.clear();
+        keysById.clear();
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    /**
+     * Returns up to {@code limit} entries whose name starts with the prefix (case insensitive),
+     * in name order.
+     */
+    public List<Entry> findByPrefix(String prefix, int limit) {
+        String normalized = NameNormalizer.normalize(prefix);
+        List<Entry> result = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, String> entry : names.tailMap(normalized).entrySet()) {
+            String key = entry.getKey();
+            if (result.size() >= limit || !key.startsWith(normalized)) {
+                break;
+            }
+            result.add(new Entry(Long.valueOf(key.substring(key.lastIndexOf(SEPARATOR) + 1)), entry.getValue()));
+        }
+        return result;
+    }
+}
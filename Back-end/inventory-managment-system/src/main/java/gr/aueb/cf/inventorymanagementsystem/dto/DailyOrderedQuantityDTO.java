@@ -0,0 +1,18 @@
+package gr.aueb.cf.inventorymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class DailyOrderedQuantityDTO {
+
+    private LocalDate day;
+    private Long orderedQuantity;
+}
@@ -0,0 +1,23 @@
+package gr.aueb.cf.inventorymanagementsystem.dto;
+
+import gr.aueb.cf.inventorymanagementsystem.core.enums.OrderIngestionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class OrderIngestionStatusDTO {
+
+    private String trackingId;
+    private OrderIngestionStatus status;
+
+    // Συμπληρώνεται όταν η παραγγελία αποθηκευτεί
+    private Long orderId;
+
+    // Η αιτία όταν η παραγγελία απορριφθεί
+    private String message;
+}
@@ -0,0 +1,17 @@
+package gr.aueb.cf.inventorymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ProductDeleteResultDTO {
+
+    private ProductReadOnlyDTO product;
+    private int deletedOrderItems;
+    private int deletedOrders;
+}
@@ -0,0 +1,23 @@
+package gr.aueb.cf.inventorymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ProductImportReportDTO {
+
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+
+    // Τα πρώτα σφάλματα ανά γραμμή (το πλήθος τους περιορίζεται από το application.import.products.max-reported-errors)
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+}
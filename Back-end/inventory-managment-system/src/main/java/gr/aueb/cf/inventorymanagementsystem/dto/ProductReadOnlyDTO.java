@@ -21,4 +21,25 @@ public class ProductReadOnlyDTO {
     private SupplierReadOnlyDTO supplier;
     private CategoryReadOnlyDTO category;
 
+    /**
+     * Constructor used by the JPQL projections of {@code ProductRepository}. It receives
+     * only the selected columns and builds the nested supplier and category DTOs, so the
+     * list endpoints keep the same JSON shape without loading the entities.
+     */
+    public ProductReadOnlyDTO(Long id, String name, String description, Double price, Integer quantity,
+                              Long supplierId, String supplierName, String supplierEmail, String supplierPhoneNumber,
+                              Long categoryId, String categoryName) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.quantity = quantity;
+        this.supplier = supplierId != null
+                ? new SupplierReadOnlyDTO(supplierId, supplierName, supplierEmail, supplierPhoneNumber)
+                : null;
+        this.category = categoryId != null
+                ? new CategoryReadOnlyDTO(categoryId, categoryName)
+                : null;
+    }
+
 }
@@ -0,0 +1,18 @@
+package gr.aueb.cf.inventorymanagementsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class StockAdjustmentDTO {
+
+    // Θετικό για παραλαβή, αρνητικό για δέσμευση/πώληση
+    @NotNull(message = "Stock delta is required")
+    private Integer delta;
+}
@@ -0,0 +1,23 @@
+package gr.aueb.cf.inventorymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Stock aggregated per category or per supplier.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class StockGroupDTO {
+
+    private Long id;
+    private String name;
+    private Long productCount;
+    private Long totalQuantity;
+    private Double totalValue;
+    private Long lowStockCount;
+}
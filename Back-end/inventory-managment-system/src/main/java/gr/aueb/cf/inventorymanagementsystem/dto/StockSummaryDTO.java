@@ -0,0 +1,22 @@
+package gr.aueb.cf.inventorymanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class StockSummaryDTO {
+
+    private Long productCount;
+    private Long totalQuantity;
+
+    // Άθροισμα price * quantity
+    private Double totalValue;
+
+    // Προϊόντα με quantity <= lowStockThreshold
+    private Long lowStockCount;
+}
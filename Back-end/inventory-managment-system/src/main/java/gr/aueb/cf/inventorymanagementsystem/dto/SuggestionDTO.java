@@ -0,0 +1,24 @@
+package gr.aueb.cf.inventorymanagementsystem.dto;
+
+import gr.aueb.cf.inventorymanagementsystem.core.enums.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SuggestionDTO {
+
+    private SuggestionType type;
+    private Long id;
+    private String name;
+
+    // Για τα projections των repositories, ο τύπος ορίζεται κατά τη φόρτωση
+    public SuggestionDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
@@ -1,19 +1,20 @@
 package gr.aueb.cf.inventorymanagementsystem.model;
 
 
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@AllArgsConstructor
 @RequiredArgsConstructor
 @Getter
 @Setter
 @Table(name = "categories", indexes = {
-        @Index(name = "idx_name", columnList = "name")
+        @Index(name = "idx_name", columnList = "name"),
+        @Index(name = "idx_category_name_normalized", columnList = "name_normalized")
 })
 public class Category extends AbstractEntity{
 
@@ -23,4 +24,19 @@ public class Category extends AbstractEntity{
 
     private String name;
 
+    // Κεφαλαία του name για τα φίλτρα, ενημερώνεται μόνο μέσω του setName
+    @Column(name = "name_normalized")
+    @Setter(AccessLevel.NONE)
+    private String nameNormalized;
+
+    public Category(Long id, String name) {
+        this.id = id;
+        setName(name);
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameNormalized = NameNormalizer.normalize(name);
+    }
+
 }
@@ -14,15 +14,18 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "orders", indexes = {
-        @Index(name = "idx_order", columnList = "supplier_id")
+        @Index(name = "idx_orders_order_date", columnList = "order_date"),
+        @Index(name = "idx_orders_supplier_order_date", columnList = "supplier_id, order_date")
 })
 public class Order extends AbstractEntity{
 
+    // Pooled sequence instead of IDENTITY so that Hibernate can batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", referencedColumnName = "id")
     private Supplier supplier;
 
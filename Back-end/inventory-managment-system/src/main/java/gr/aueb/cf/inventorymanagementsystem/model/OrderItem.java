@@ -12,19 +12,22 @@ import lombok.Setter;
 @Getter
 @Setter
 @Table(name = "order_items", indexes = {
-        @Index(name = "idx_order_product", columnList = "order_id, product_id")
+        @Index(name = "idx_order_product", columnList = "order_id, product_id"),
+        @Index(name = "idx_order_items_product_order", columnList = "product_id, order_id")
 })
 public class OrderItem extends AbstractEntity{
 
+    // Pooled sequence instead of IDENTITY so that Hibernate can batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
 
@@ -1,5 +1,6 @@
 package gr.aueb.cf.inventorymanagementsystem.model;
 
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,28 +9,38 @@ import java.util.Collections;
 import java.util.List;
 
 @Entity
-@AllArgsConstructor
 @RequiredArgsConstructor
 @Getter
 @Setter
 @Table(name = "products", indexes = {
-        @Index(name = "idx_product_name", columnList = "name")
+        @Index(name = "idx_product_name", columnList = "name"),
+        @Index(name = "idx_product_name_normalized", columnList = "name_normalized"),
+        @Index(name = "idx_products_supplier_name", columnList = "supplier_id, name"),
+        @Index(name = "idx_products_category_name", columnList = "category_id, name")
 })
 public class Product extends AbstractEntity{
 
+    // Pooled sequence instead of IDENTITY so that Hibernate can batch the inserts of a bulk import
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
     private String name;
+
+    // Κεφαλαία του name για τα φίλτρα, ενημερώνεται μόνο μέσω του setName
+    @Column(name = "name_normalized")
+    @Setter(AccessLevel.NONE)
+    private String nameNormalized;
+
     private String description;
     private Double price;
     private Integer quantity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", referencedColumnName = "id")
     private Supplier supplier;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "id")
     private Category category;
 
@@ -37,6 +48,23 @@ public class Product extends AbstractEntity{
     @Getter(AccessLevel.PACKAGE)
     private List<OrderItem> orderItems;
 
+    public Product(Long id, String name, String description, Double price, Integer quantity,
+                   Supplier supplier, Category category, List<OrderItem> orderItems) {
+        this.id = id;
+        setName(name);
+        this.description = description;
+        this.price = price;
+        this.quantity = quantity;
+        this.supplier = supplier;
+        this.category = category;
+        this.orderItems = orderItems;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameNormalized = NameNormalizer.normalize(name);
+    }
+
     public List<OrderItem> getAllOrderItems() {
        return orderItems != null ? Collections.unmodifiableList(orderItems) : Collections.emptyList();
     }
@@ -0,0 +1,36 @@
+package gr.aueb.cf.inventorymanagementsystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Units ordered per product and day, maintained incrementally by {@code OrderSummaryService}
+ * in the same transaction as the order writes. Reporting queries read these rows instead of
+ * scanning {@code order_items}.
+ *
+ * <p>There is no foreign key to {@code products}, so the set-based product delete can remove
+ * the rows of a product with one statement.</p>
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "product_daily_order_summary", indexes = {
+        @Index(name = "idx_summary_day", columnList = "day")
+})
+public class ProductDailyOrderSummary {
+
+    @EmbeddedId
+    private ProductDayId id;
+
+    @Column(name = "ordered_qty", nullable = false)
+    private Long orderedQty;
+}
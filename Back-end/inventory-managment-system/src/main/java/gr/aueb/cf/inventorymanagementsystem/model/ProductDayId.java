@@ -0,0 +1,27 @@
+package gr.aueb.cf.inventorymanagementsystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+public class ProductDayId implements Serializable {
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "day")
+    private LocalDate day;
+}
@@ -1,19 +1,20 @@
 package gr.aueb.cf.inventorymanagementsystem.model;
 
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 
 @Entity
-@AllArgsConstructor
 @RequiredArgsConstructor
 @Getter
 @Setter
 @Table(name = "suppliers", indexes = {
-        @Index(name = "idx_supplier", columnList = "name")
+        @Index(name = "idx_supplier", columnList = "name"),
+        @Index(name = "idx_supplier_name_normalized", columnList = "name_normalized")
 })
 public class Supplier extends AbstractEntity{
 
@@ -24,4 +25,21 @@ public class Supplier extends AbstractEntity{
     private String name;
     private String email;
     private String phoneNumber;
+
+    // Κεφαλαία του name για τα φίλτρα, ενημερώνεται μόνο μέσω του setName
+    @Column(name = "name_normalized")
+    @Setter(AccessLevel.NONE)
+    private String nameNormalized;
+
+    public Supplier(Long id, String name, String email, String phoneNumber) {
+        this.id = id;
+        setName(name);
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameNormalized = NameNormalizer.normalize(name);
+    }
 }
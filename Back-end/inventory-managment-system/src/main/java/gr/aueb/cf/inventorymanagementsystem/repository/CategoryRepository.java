@@ -1,13 +1,42 @@
 package gr.aueb.cf.inventorymanagementsystem.repository;
 
+import gr.aueb.cf.inventorymanagementsystem.core.CacheNames;
+import gr.aueb.cf.inventorymanagementsystem.dto.CategoryReadOnlyDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO;
 import gr.aueb.cf.inventorymanagementsystem.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
     Optional<Category> findByName(String name);
+
+    // Cache μόνο του id: οι οντότητες δεν μοιράζονται μεταξύ requests/transactions
+    @Cacheable(cacheNames = CacheNames.CATEGORIES_BY_NAME, key = "#p0", unless = "#result == null")
+    @Query("SELECT c.id FROM Category c WHERE c.name = :name")
+    Optional<Long> findIdByName(String name);
+
+    List<Category> findAllByNameIn(Collection<String> names);
+
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.CategoryReadOnlyDTO(c.id, c.name) FROM Category c")
+    List<CategoryReadOnlyDTO> findAllProjected();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.CategoryReadOnlyDTO(c.id, c.name) FROM Category c")
+    Stream<CategoryReadOnlyDTO> streamAllProjected();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO(c.id, c.name) FROM Category c")
+    Stream<SuggestionDTO> streamSuggestions();
 }
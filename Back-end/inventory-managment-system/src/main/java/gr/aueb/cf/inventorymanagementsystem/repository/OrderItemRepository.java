@@ -0,0 +1,26 @@
+package gr.aueb.cf.inventorymanagementsystem.repository;
+
+import gr.aueb.cf.inventorymanagementsystem.model.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    @Query("SELECT DISTINCT oi.order.id FROM OrderItem oi WHERE oi.product.id = :productId")
+    List<Long> findOrderIdsByProductId(@Param("productId") Long productId);
+
+    /**
+     * Set-based delete of all the order items of a product, in a single statement.
+     *
+     * @return the number of deleted order items
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM OrderItem oi WHERE oi.product.id = :productId")
+    int deleteAllByProductId(@Param("productId") Long productId);
+}
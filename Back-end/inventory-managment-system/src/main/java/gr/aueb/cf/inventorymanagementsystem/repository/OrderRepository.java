@@ -5,16 +5,51 @@ import gr.aueb.cf.inventorymanagementsystem.model.Order;
 import gr.aueb.cf.inventorymanagementsystem.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
+    // Η σελίδα φέρνει μόνο το Order και τον Supplier (ToOne, ασφαλές με LIMIT/OFFSET)
+    @Override
+    @EntityGraph(attributePaths = "supplier")
+    Page<Order> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "supplier")
+    Page<Order> findAll(Specification<Order> spec, Pageable pageable);
+
+    /**
+     * Second phase of the paginated read path. Loads the order items of the given orders
+     * together with their products, suppliers and categories in a single query, so mapping
+     * a page of orders does not trigger lazy loads per row.
+     */
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "LEFT JOIN FETCH o.orderItems oi " +
+            "LEFT JOIN FETCH oi.product p " +
+            "LEFT JOIN FETCH p.supplier " +
+            "LEFT JOIN FETCH p.category " +
+            "WHERE o.id IN :ids")
+    List<Order> findAllWithOrderItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes those of the given orders that no longer have any order items.
+     *
+     * @return the number of deleted orders
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id IN :ids " +
+            "AND NOT EXISTS (SELECT oi.id FROM OrderItem oi WHERE oi.order = o)")
+    int deleteAllWithoutOrderItemsByIdIn(@Param("ids") Collection<Long> ids);
 }
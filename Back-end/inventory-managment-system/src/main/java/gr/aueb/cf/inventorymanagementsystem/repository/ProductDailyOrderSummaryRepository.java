@@ -0,0 +1,55 @@
+package gr.aueb.cf.inventorymanagementsystem.repository;
+
+import gr.aueb.cf.inventorymanagementsystem.dto.DailyOrderedQuantityDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductOrderedQuantityDTO;
+import gr.aueb.cf.inventorymanagementsystem.model.ProductDailyOrderSummary;
+import gr.aueb.cf.inventorymanagementsystem.model.ProductDayId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductDailyOrderSummaryRepository extends JpaRepository<ProductDailyOrderSummary, ProductDayId> {
+
+    // Upsert: προσθέτει το delta (θετικό ή αρνητικό) στη γραμμή (product, day)
+    @Modifying
+    @Query(value = "INSERT INTO product_daily_order_summary (product_id, day, ordered_qty) " +
+            "VALUES (:productId, :day, :delta) " +
+            "ON DUPLICATE KEY UPDATE ordered_qty = ordered_qty + :delta", nativeQuery = true)
+    int addOrderedQuantity(@Param("productId") Long productId, @Param("day") LocalDate day, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductDailyOrderSummary s WHERE s.id.productId = :productId")
+    int deleteAllByProductId(@Param("productId") Long productId);
+
+    @Modifying
+    @Query(value = "DELETE FROM product_daily_order_summary", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO product_daily_order_summary (product_id, day, ordered_qty) " +
+            "SELECT oi.product_id, o.order_date, SUM(oi.quantity) " +
+            "FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+            "WHERE oi.product_id IS NOT NULL AND o.order_date IS NOT NULL " +
+            "GROUP BY oi.product_id, o.order_date", nativeQuery = true)
+    int insertAllFromOrderItems();
+
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.ProductOrderedQuantityDTO(p.id, p.name, SUM(s.orderedQty)) " +
+            "FROM ProductDailyOrderSummary s JOIN Product p ON p.id = s.id.productId " +
+            "WHERE s.id.day >= :from " +
+            "GROUP BY p.id, p.name " +
+            "ORDER BY SUM(s.orderedQty) DESC")
+    List<ProductOrderedQuantityDTO> findTopOrderedSince(@Param("from") LocalDate from, Pageable pageable);
+
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.DailyOrderedQuantityDTO(s.id.day, s.orderedQty) " +
+            "FROM ProductDailyOrderSummary s " +
+            "WHERE s.id.productId = :productId AND s.id.day >= :from " +
+            "ORDER BY s.id.day")
+    List<DailyOrderedQuantityDTO> findDailyByProductIdSince(@Param("productId") Long productId, @Param("from") LocalDate from);
+}
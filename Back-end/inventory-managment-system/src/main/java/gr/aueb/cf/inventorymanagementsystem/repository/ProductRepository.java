@@ -1,14 +1,128 @@
 package gr.aueb.cf.inventorymanagementsystem.repository;
 
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductReadOnlyDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.StockGroupDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.StockSummaryDTO;
 import gr.aueb.cf.inventorymanagementsystem.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    String SELECT_PRODUCT_DTO = "SELECT new gr.aueb.cf.inventorymanagementsystem.dto.ProductReadOnlyDTO(" +
+            "p.id, p.name, p.description, p.price, p.quantity, " +
+            "s.id, s.name, s.email, s.phoneNumber, " +
+            "c.id, c.name) " +
+            "FROM Product p LEFT JOIN p.supplier s LEFT JOIN p.category c ";
+
+    // Τα aggregates υπολογίζονται στη βάση με GROUP BY, επιστρέφονται μόνο λίγες γραμμές
+    String STOCK_AGGREGATES = "COUNT(p), COALESCE(SUM(p.quantity), 0), COALESCE(SUM(p.price * p.quantity), 0.0), " +
+            "COALESCE(SUM(CASE WHEN p.quantity <= :threshold THEN 1 ELSE 0 END), 0)";
+
+    // Relevance: ένα match στο όνομα μετράει διπλά από ένα match στην περιγραφή
+    String SEARCH_SCORE = "MATCH(p.name) AGAINST(:query IN NATURAL LANGUAGE MODE) * 2 + " +
+            "MATCH(p.name, p.description) AGAINST(:query IN NATURAL LANGUAGE MODE)";
+
     Optional<Product> findByName(String name);
+    List<Product> findAllByNameIn(Collection<String> names);
+
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.id = :id")
+    Optional<ProductReadOnlyDTO> findProjectedById(@Param("id") Long id);
+
+    /**
+     * Applies a stock delta in a single conditional UPDATE, so concurrent adjustments never
+     * overwrite each other and the quantity never becomes negative. The row lock is held only
+     * for the statement itself.
+     *
+     * @return 1 if the stock was adjusted, 0 if the product does not exist or the stock is not enough
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :delta, p.updatedAt = LOCAL DATETIME " +
+            "WHERE p.id = :id AND p.quantity + :delta >= 0")
+    int adjustQuantity(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Override
+    @EntityGraph(attributePaths = {"supplier", "category"})
+    Page<Product> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"supplier", "category"})
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    @Query(SELECT_PRODUCT_DTO)
+    List<ProductReadOnlyDTO> findAllProjected();
+
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.id IN :ids")
+    List<ProductReadOnlyDTO> findAllProjectedByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Full-text search on name and description through the {@code ft_products_name} and
+     * {@code ft_products_name_description} FULLTEXT indexes (MySQL only).
+     *
+     * @return the ids of the best matching products, most relevant first
+     */
+    @Query(value = "SELECT p.id FROM products p " +
+            "WHERE MATCH(p.name, p.description) AGAINST(:query IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY " + SEARCH_SCORE + " DESC, p.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> searchIds(@Param("query") String query, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_PRODUCT_DTO)
+    Stream<ProductReadOnlyDTO> streamAllProjected();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO(p.id, p.name) FROM Product p")
+    Stream<SuggestionDTO> streamSuggestions();
+
+    /**
+     * @param pattern a pattern built by {@code NameNormalizer.prefixPattern}, or {@code null} for all products
+     */
+    @Query(value = SELECT_PRODUCT_DTO +
+            "WHERE (:pattern IS NULL OR p.nameNormalized LIKE :pattern ESCAPE '!')",
+            countQuery = "SELECT COUNT(p) FROM Product p " +
+                    "WHERE (:pattern IS NULL OR p.nameNormalized LIKE :pattern ESCAPE '!')")
+    Page<ProductReadOnlyDTO> findAllProjectedByNameStartingWith(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.StockSummaryDTO(" + STOCK_AGGREGATES + ") " +
+            "FROM Product p")
+    StockSummaryDTO getStockSummary(@Param("threshold") int lowStockThreshold);
+
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.StockGroupDTO(c.id, c.name, " + STOCK_AGGREGATES + ") " +
+            "FROM Product p LEFT JOIN p.category c " +
+            "GROUP BY c.id, c.name " +
+            "ORDER BY c.name")
+    List<StockGroupDTO> getStockByCategory(@Param("threshold") int lowStockThreshold);
+
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.StockGroupDTO(s.id, s.name, " + STOCK_AGGREGATES + ") " +
+            "FROM Product p LEFT JOIN p.supplier s " +
+            "GROUP BY s.id, s.name " +
+            "ORDER BY s.name")
+    List<StockGroupDTO> getStockBySupplier(@Param("threshold") int lowStockThreshold);
+
+    // Bulk delete, χωρίς cascade στα order items (διαγράφονται πριν από το προϊόν)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.id = :id")
+    int deleteProductById(@Param("id") Long id);
 }
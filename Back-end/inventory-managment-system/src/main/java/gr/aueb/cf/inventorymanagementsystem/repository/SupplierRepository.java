@@ -1,15 +1,50 @@
 package gr.aueb.cf.inventorymanagementsystem.repository;
 
+import gr.aueb.cf.inventorymanagementsystem.core.CacheNames;
+import gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.SupplierReadOnlyDTO;
 import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long>, JpaSpecificationExecutor<Supplier> {
     Optional<Supplier> findByName(String name);
+
     Optional<Supplier> findByPhoneNumber(String phoneNumber);
+
+    // Cache μόνο των id: οι οντότητες δεν μοιράζονται μεταξύ requests/transactions
+    @Cacheable(cacheNames = CacheNames.SUPPLIERS_BY_NAME, key = "#p0", unless = "#result == null")
+    @Query("SELECT s.id FROM Supplier s WHERE s.name = :name")
+    Optional<Long> findIdByName(String name);
+
+    @Cacheable(cacheNames = CacheNames.SUPPLIERS_BY_PHONE_NUMBER, key = "#p0", unless = "#result == null")
+    @Query("SELECT s.id FROM Supplier s WHERE s.phoneNumber = :phoneNumber")
+    Optional<Long> findIdByPhoneNumber(String phoneNumber);
+
     Optional<Supplier> findByEmail(String email);
+
+    List<Supplier> findAllByNameIn(Collection<String> names);
+
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.SupplierReadOnlyDTO(s.id, s.name, s.email, s.phoneNumber) FROM Supplier s")
+    List<SupplierReadOnlyDTO> findAllProjected();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.SupplierReadOnlyDTO(s.id, s.name, s.email, s.phoneNumber) FROM Supplier s")
+    Stream<SupplierReadOnlyDTO> streamAllProjected();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO(s.id, s.name) FROM Supplier s")
+    Stream<SuggestionDTO> streamSuggestions();
 }
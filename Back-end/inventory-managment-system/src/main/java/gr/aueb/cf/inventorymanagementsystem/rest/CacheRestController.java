@@ -0,0 +1,56 @@
+package gr.aueb.cf.inventorymanagementsystem.rest;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import gr.aueb.cf.inventorymanagementsystem.dto.CacheStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:4200")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class CacheRestController {
+
+    private final CacheManager cacheManager;
+
+    @GetMapping("/caches/stats")
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Returns the size, hit, miss and eviction counts of every application cache."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "User not authorized", content = @Content)
+    })
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        List<CacheStatsDTO> stats = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(this::mapToCacheStatsDTO)
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+
+    private CacheStatsDTO mapToCacheStatsDTO(CaffeineCache cache) {
+        var nativeCache = cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatsDTO(
+                cache.getName(),
+                nativeCache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
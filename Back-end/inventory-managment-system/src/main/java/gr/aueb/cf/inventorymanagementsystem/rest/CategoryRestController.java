@@ -17,10 +17,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 import java.util.List;
@@ -59,11 +61,9 @@ public class CategoryRestController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size) {
 
-        LOGGER.info("Starting getPaginatedCategories with page: {} and size: {}", page, size);
-
         try {
             Page<CategoryReadOnlyDTO> categoriesPage = categoryService.getPaginatedCategories(page, size);
-            LOGGER.info("Successfully retrieved page {} of size {}", page, size);
+            LOGGER.debug("Retrieved page {} of size {}", page, size);
             return new ResponseEntity<>(categoriesPage, HttpStatus.OK);
 
         } catch (IllegalArgumentException ex) {
@@ -101,12 +101,9 @@ public class CategoryRestController {
     public ResponseEntity<CategoryReadOnlyDTO> getCategory(
             @PathVariable Long categoryId) throws AppObjectNotFoundException {
 
-        LOGGER.info("Starting getCategory for ID: {}", categoryId);
-
         try {
             // Εύρεση της κατηγορίας
             CategoryReadOnlyDTO category = categoryService.getCategory(categoryId);
-            LOGGER.info("Successfully fetched category with ID: {}", categoryId);
             return new ResponseEntity<>(category, HttpStatus.OK);
 
         } catch (AppObjectNotFoundException ex) {
@@ -152,7 +149,9 @@ public class CategoryRestController {
         try {
             // Ορισμός του ID της κατηγορίας στο DTO
             categoryUpdateDTO.setId(categoryId);
-            LOGGER.debug("Updating category with ID: {} and details: {}", categoryId, categoryUpdateDTO);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Updating category with ID: {} and name: {}", categoryId, categoryUpdateDTO.getName());
+            }
 
             // Κλήση της μεθόδου updateCategory στο Service
             CategoryReadOnlyDTO updatedCategory = categoryService.updateCategory(categoryUpdateDTO);
@@ -240,14 +239,11 @@ public class CategoryRestController {
     })
     public ResponseEntity<List<CategoryReadOnlyDTO>> getAllCategories() {
 
-        LOGGER.info("Starting getAllCategories");
-
         try {
             // Ανάκτηση όλων των κατηγοριών
-            LOGGER.debug("Fetching all categories from the database");
             List<CategoryReadOnlyDTO> allCategories = categoryService.getAllCategories();
 
-            LOGGER.info("Successfully fetched {} categories", allCategories.size());
+            LOGGER.debug("Fetched {} categories", allCategories.size());
             return ResponseEntity.ok(allCategories);
 
         } catch (Exception ex) {
@@ -256,6 +252,33 @@ public class CategoryRestController {
         }
     }
 
+    @GetMapping(value = "/categories/export", produces = "application/x-ndjson")
+    @Operation(
+            summary = "Export all categories",
+            description = "Streams all categories as newline delimited JSON (one category per line) without loading the whole table in memory."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Categories streamed successfully",
+                    content = @Content(mediaType = "application/x-ndjson")
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportCategories() {
+        StreamingResponseBody body = outputStream -> {
+            long exported = categoryService.exportCategories(outputStream);
+            LOGGER.info("Exported {} categories", exported);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Fetches a filtered and paginated list of categories.
      *
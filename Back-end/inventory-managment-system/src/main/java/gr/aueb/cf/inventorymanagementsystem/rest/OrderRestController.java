@@ -2,9 +2,11 @@ package gr.aueb.cf.inventorymanagementsystem.rest;
 
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.*;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.OrderFilters;
+import gr.aueb.cf.inventorymanagementsystem.core.filters.Scrolled;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.ProductFilters;
 import gr.aueb.cf.inventorymanagementsystem.dto.*;
 import gr.aueb.cf.inventorymanagementsystem.mapper.Mapper;
+import gr.aueb.cf.inventorymanagementsystem.service.OrderIngestionService;
 import gr.aueb.cf.inventorymanagementsystem.service.OrderService;
 import gr.aueb.cf.inventorymanagementsystem.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +25,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.security.Principal;
 import java.util.List;
 
@@ -34,6 +37,7 @@ public class OrderRestController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OrderRestController.class);
     private final OrderService orderService;
+    private final OrderIngestionService orderIngestionService;
     private final Mapper mapper;
 
     @GetMapping("/orders")
@@ -179,6 +183,103 @@ public class OrderRestController {
         }
     }
 
+    @PostMapping("/orders/scroll")
+    @Operation(
+            summary = "Get filtered orders with a cursor",
+            description = "Keyset pagination for infinite scroll. Pass the returned nextCursor as the cursor filter to get the next window. The total count is only returned when withTotalCount is true."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Orders retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Scrolled.class) // Scrolled<OrderReadOnlyDTO> schema
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized access",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<Scrolled<OrderReadOnlyDTO>> getOrdersScrolled(@Nullable @RequestBody OrderFilters filters)
+            throws AppObjectInvalidArgumentException {
+        if (filters == null) filters = OrderFilters.builder().build();
+        return ResponseEntity.ok(orderService.getOrdersFilteredScrolled(filters));
+    }
+
+    @PostMapping(value = "/orders/async")
+    @Operation(
+            summary = "Queue a new order",
+            description = "Validates the order and queues it to be saved in the background. Returns a tracking id " +
+                    "that can be used to read the outcome from /api/orders/async/{trackingId}."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Order queued",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderIngestionStatusDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation errors occurred",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "The order queue is full",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderIngestionStatusDTO> queueOrder(
+            @Valid @RequestBody OrderInsertDTO orderInsertDTO,
+            BindingResult bindingResult)
+            throws ValidationException, AppObjectInvalidArgumentException, AppTooManyRequestsException {
+
+        if (bindingResult.hasErrors()) {
+            throw new ValidationException(bindingResult);
+        }
+
+        OrderIngestionStatusDTO status = orderIngestionService.submit(orderInsertDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/async/" + status.getTrackingId()))
+                .body(status);
+    }
+
+    @GetMapping(value = "/orders/async/{trackingId}")
+    @Operation(
+            summary = "Get the status of a queued order",
+            description = "Returns whether a queued order is still waiting, was saved (with its order id) or failed (with the reason)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Status retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderIngestionStatusDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown or expired tracking id",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderIngestionStatusDTO> getQueuedOrderStatus(@PathVariable String trackingId)
+            throws AppObjectNotFoundException {
+        return new ResponseEntity<>(orderIngestionService.getStatus(trackingId), HttpStatus.OK);
+    }
+
     @PostMapping(value = "/orders/save")
     @Operation(
             summary = "Save a new order",
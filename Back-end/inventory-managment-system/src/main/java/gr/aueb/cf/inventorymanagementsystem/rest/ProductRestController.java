@@ -2,8 +2,11 @@ package gr.aueb.cf.inventorymanagementsystem.rest;
 
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.*;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.ProductFilters;
+import gr.aueb.cf.inventorymanagementsystem.core.filters.Scrolled;
+import gr.aueb.cf.inventorymanagementsystem.core.imports.ImportFormat;
 import gr.aueb.cf.inventorymanagementsystem.dto.*;
 import gr.aueb.cf.inventorymanagementsystem.mapper.Mapper;
+import gr.aueb.cf.inventorymanagementsystem.service.ProductImportService;
 import gr.aueb.cf.inventorymanagementsystem.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,12 +18,17 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.Principal;
 import java.util.List;
 
@@ -32,6 +40,7 @@ import java.util.List;
 public class ProductRestController {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProductRestController.class);
     private final ProductService productService;
+    private final ProductImportService productImportService;
     private final Mapper mapper;
 
     @GetMapping("/products")
@@ -112,6 +121,37 @@ public class ProductRestController {
         }
     }
 
+    @PostMapping("/products/scroll")
+    @Operation(
+            summary = "Get filtered products with a cursor",
+            description = "Keyset pagination for infinite scroll. Pass the returned nextCursor as the cursor filter to get the next window. The total count is only returned when withTotalCount is true."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Products retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Scrolled.class) // Scrolled<ProductReadOnlyDTO> schema
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized access",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<Scrolled<ProductReadOnlyDTO>> getProductsScrolled(@Nullable @RequestBody ProductFilters filters)
+            throws AppObjectInvalidArgumentException {
+        if (filters == null) filters = ProductFilters.builder().build();
+        return ResponseEntity.ok(productService.getProductsFilteredScrolled(filters));
+    }
+
     @GetMapping("/products/getAll")
     @Operation(
             summary = "Get all products",
@@ -137,10 +177,212 @@ public class ProductRestController {
         return ResponseEntity.ok(allProducts);
     }
 
+    @GetMapping(value = "/products/export", produces = "application/x-ndjson")
+    @Operation(
+            summary = "Export all products",
+            description = "Streams all products as newline delimited JSON (one product per line) without loading the whole table in memory."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Products streamed successfully",
+                    content = @Content(mediaType = "application/x-ndjson")
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = outputStream -> {
+            long exported = productService.exportProducts(outputStream);
+            LOGGER.info("Exported {} products", exported);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/products/search")
+    @Operation(
+            summary = "Search products",
+            description = "Full-text search on product name and description. Results are ranked by relevance, with matches in the name ranked higher. Parts of words are matched as well."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Matching products retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductReadOnlyDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<ProductReadOnlyDTO>> searchProducts(
+            @RequestParam String query,
+            @RequestParam(required = false) @Nullable Integer limit) {
+        return new ResponseEntity<>(productService.searchProducts(query, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/products/stock/summary")
+    @Operation(
+            summary = "Get the stock summary",
+            description = "Returns the number of products, the total quantity, the total stock value (price x quantity) and the number of low stock products, computed in the database."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stock aggregates retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StockSummaryDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StockSummaryDTO> getStockSummary(
+            @RequestParam(required = false) @Nullable Integer lowStockThreshold) {
+        return new ResponseEntity<>(productService.getStockSummary(lowStockThreshold), HttpStatus.OK);
+    }
+
+    @GetMapping("/products/stock/by-category")
+    @Operation(
+            summary = "Get the stock per category",
+            description = "Returns the number of products, total quantity, stock value and low stock count of every category, computed with GROUP BY in the database."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stock aggregates retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StockGroupDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<StockGroupDTO>> getStockByCategory(
+            @RequestParam(required = false) @Nullable Integer lowStockThreshold) {
+        return new ResponseEntity<>(productService.getStockByCategory(lowStockThreshold), HttpStatus.OK);
+    }
+
+    @GetMapping("/products/stock/by-supplier")
+    @Operation(
+            summary = "Get the stock per supplier",
+            description = "Returns the number of products, total quantity, stock value and low stock count of every supplier, computed with GROUP BY in the database."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stock aggregates retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StockGroupDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<StockGroupDTO>> getStockBySupplier(
+            @RequestParam(required = false) @Nullable Integer lowStockThreshold) {
+        return new ResponseEntity<>(productService.getStockBySupplier(lowStockThreshold), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/products/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+            summary = "Bulk import products",
+            description = "Imports products from a CSV (with a header line) or NDJSON body that is read as a stream. " +
+                    "Suppliers and categories are referenced by name. Rows are committed in chunks and the response " +
+                    "reports the number of imported rows and the errors per row."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import finished, see the report for rows that failed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductImportReportDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unsupported content type",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProductImportReportDTO> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream inputStream) throws AppObjectInvalidArgumentException, IOException {
+        ProductImportReportDTO report = productImportService.importProducts(inputStream, ImportFormat.fromContentType(contentType));
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @PostMapping("/products/{productId}/stock")
+    @Operation(
+            summary = "Adjust the stock of a product",
+            description = "Adds a positive or negative delta to the quantity of the product atomically. " +
+                    "Concurrent adjustments are never lost and the quantity cannot become negative."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stock adjusted successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductReadOnlyDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation errors or insufficient stock",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProductReadOnlyDTO> adjustStock(
+            @PathVariable Long productId,
+            @Valid @RequestBody StockAdjustmentDTO stockAdjustmentDTO,
+            BindingResult bindingResult)
+            throws ValidationException, AppObjectNotFoundException, AppObjectInvalidArgumentException {
+        if (bindingResult.hasErrors()) {
+            throw new ValidationException(bindingResult);
+        }
+
+        ProductReadOnlyDTO productReadOnlyDTO = productService.adjustStock(productId, stockAdjustmentDTO.getDelta());
+        return new ResponseEntity<>(productReadOnlyDTO, HttpStatus.OK);
+    }
+
     @DeleteMapping("/products/{productId}")
     @Operation(
             summary = "Delete a product by ID",
-            description = "Deletes an existing product based on its unique ID. Returns the details of the deleted product."
+            description = "Deletes an existing product based on its unique ID, together with its order items and " +
+                    "the orders left without items. Returns the deleted product and the number of deleted order items and orders."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -148,7 +390,7 @@ public class ProductRestController {
                     description = "Product deleted successfully",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = ProductReadOnlyDTO.class)
+                            schema = @Schema(implementation = ProductDeleteResultDTO.class)
                     )
             ),
             @ApiResponse(
@@ -162,8 +404,8 @@ public class ProductRestController {
                     content = @Content
             )
     })
-    public ResponseEntity<ProductReadOnlyDTO> deleteProduct(@PathVariable Long productId) throws AppObjectNotFoundException {
-        ProductReadOnlyDTO deletedProduct = productService.deleteProduct(productId);
+    public ResponseEntity<ProductDeleteResultDTO> deleteProduct(@PathVariable Long productId) throws AppObjectNotFoundException {
+        ProductDeleteResultDTO deletedProduct = productService.deleteProduct(productId);
         return new ResponseEntity<>(deletedProduct, HttpStatus.OK);
     }
 
@@ -0,0 +1,69 @@
+package gr.aueb.cf.inventorymanagementsystem.rest;
+
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.inventorymanagementsystem.dto.DailyOrderedQuantityDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductOrderedQuantityDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ResponseMessageDTO;
+import gr.aueb.cf.inventorymanagementsystem.service.OrderSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:4200")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReportRestController {
+
+    private final OrderSummaryService orderSummaryService;
+
+    @GetMapping("/reports/products/ordered")
+    @Operation(
+            summary = "Get the most ordered products",
+            description = "Returns the products with the most units ordered in the last given days, read from the daily order summary."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid days or limit", content = @Content)
+    })
+    public ResponseEntity<List<ProductOrderedQuantityDTO>> getTopOrderedProducts(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "20") int limit) throws AppObjectInvalidArgumentException {
+        return ResponseEntity.ok(orderSummaryService.getTopOrderedProducts(days, limit));
+    }
+
+    @GetMapping("/reports/products/{productId}/ordered")
+    @Operation(
+            summary = "Get the units ordered per day of a product",
+            description = "Returns the units of the product ordered on each day of the last given days, read from the daily order summary."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid days", content = @Content)
+    })
+    public ResponseEntity<List<DailyOrderedQuantityDTO>> getDailyOrderedQuantity(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "30") int days) throws AppObjectInvalidArgumentException {
+        return ResponseEntity.ok(orderSummaryService.getDailyOrderedQuantity(productId, days));
+    }
+
+    @PostMapping("/reports/order-summary/rebuild")
+    @Operation(
+            summary = "Rebuild the daily order summary",
+            description = "Recomputes the units ordered per product and day from the whole order history."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary rebuilt successfully"),
+            @ApiResponse(responseCode = "403", description = "User not authorized", content = @Content)
+    })
+    public ResponseEntity<ResponseMessageDTO> rebuildOrderSummary() {
+        int rows = orderSummaryService.rebuild();
+        return ResponseEntity.ok(new ResponseMessageDTO("orderSummaryRebuilt", rows + " summary rows written"));
+    }
+}
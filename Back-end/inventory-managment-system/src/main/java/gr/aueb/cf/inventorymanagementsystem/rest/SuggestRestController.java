@@ -0,0 +1,38 @@
+package gr.aueb.cf.inventorymanagementsystem.rest;
+
+import gr.aueb.cf.inventorymanagementsystem.core.enums.SuggestionType;
+import gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO;
+import gr.aueb.cf.inventorymanagementsystem.service.SuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:4200")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class SuggestRestController {
+
+    private final SuggestionService suggestionService;
+
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Suggest names for autocomplete",
+            description = "Returns the product, supplier and category names that start with the given prefix (case insensitive), in name order. Served from memory, without a database query."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    })
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) @Nullable List<SuggestionType> types,
+            @RequestParam(required = false) @Nullable Integer limit) {
+        return ResponseEntity.ok(suggestionService.suggest(prefix, types, limit));
+    }
+}
@@ -17,10 +17,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 import java.util.List;
@@ -198,6 +200,33 @@ public class SupplierRestController {
         return ResponseEntity.ok(allSuppliers);
     }
 
+    @GetMapping(value = "/suppliers/export", produces = "application/x-ndjson")
+    @Operation(
+            summary = "Export all suppliers",
+            description = "Streams all suppliers as newline delimited JSON (one supplier per line) without loading the whole table in memory."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Suppliers streamed successfully",
+                    content = @Content(mediaType = "application/x-ndjson")
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportSuppliers() {
+        StreamingResponseBody body = outputStream -> {
+            long exported = supplierService.exportSuppliers(outputStream);
+            LOGGER.info("Exported {} suppliers", exported);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PostMapping("/suppliers/all")
     @Operation(
             summary = "Get filtered paginated suppliers",
@@ -1,6 +1,7 @@
 package gr.aueb.cf.inventorymanagementsystem.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -17,11 +18,21 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    //    Strong security 384-bits = 48 bytes = 64 Base64URL characters
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
     private long jwtExpiration = 10800000;  // 3 hours in milliseconds
 
+    // The signing key and the parser are immutable and thread-safe, so they are built once
+    private final Key signInKey;
+    private final JwtParser jwtParser;
+
+    //    Strong security 384-bits = 48 bytes = 64 Base64URL characters
+    public JwtService(@Value("${application.security.jwt.secret-key}") String secretKey) {
+        this.signInKey = buildSignInKey(secretKey);
+        this.jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
 //    if use refresh expiration token
 //    private long refreshExpiration = 604800000;
 
@@ -35,13 +46,29 @@ public class JwtService {
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the signature of the token and returns its claims. Callers that need more
+     * than one claim should parse once and work on the returned {@link Claims}.
+     *
+     * @param token the compact JWS
+     * @return the claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or not signed with our key
+     */
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String subject = claims.getSubject();
+        return (subject.equals(userDetails.getUsername())) && !claims.getExpiration().before(new Date());
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String subject = extractSubject(token);
-        return (subject.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseClaims(token), userDetails);
     }
 
     public String getStringClaim(String token, String claim) {
@@ -57,21 +84,8 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
     }
 
     /**
@@ -83,7 +97,7 @@ public class JwtService {
      *
      * @return  a SecretKey which implements Key.
      */
-    private Key getSignInKey() {
+    private static Key buildSignInKey(String secretKey) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         return Keys.hmacShaKeyFor(keyBytes);
     }
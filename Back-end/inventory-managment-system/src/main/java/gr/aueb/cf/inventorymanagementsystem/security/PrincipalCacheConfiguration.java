@@ -0,0 +1,44 @@
+package gr.aueb.cf.inventorymanagementsystem.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gr.aueb.cf.inventorymanagementsystem.core.CacheNames;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+
+import java.time.Duration;
+
+/**
+ * Cache of the authenticated principals used by the JWT filter, so that an authenticated
+ * request does not need a users table lookup. It has its own size and TTL, separate from
+ * the reference data caches.
+ */
+@Configuration
+public class PrincipalCacheConfiguration {
+
+    @Value("${application.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${application.security.principal-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> principalCacheCustomizer() {
+        return cacheManager -> cacheManager.registerCustomCache(CacheNames.USERS_BY_USERNAME,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build());
+    }
+
+    @Bean
+    public UserCache userCache(CacheManager cacheManager) {
+        return new SpringCacheBasedUserCache(cacheManager.getCache(CacheNames.USERS_BY_USERNAME));
+    }
+}
@@ -50,12 +50,20 @@ public class SecurityConfiguration {
                                 .requestMatchers("/api/auth/authenticate").permitAll() // Ειδικό για την αυθεντικοποίηση
                                 .requestMatchers("/api/categories/getAll").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER για categories (ειδικός)
                                 .requestMatchers("/api/categories/all").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER για categories (ειδικός)
+                                .requestMatchers("/api/categories/export").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER για categories (ειδικός)
                                 .requestMatchers("/api/suppliers/getAll").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER για suppliers (ειδικός)
                                 .requestMatchers("/api/suppliers/all").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER για suppliers (ειδικός)
+                                .requestMatchers("/api/suppliers/export").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER για suppliers (ειδικός)
                                 .requestMatchers("/api/categories/**").hasAnyAuthority(Role.ADMIN.name()) // ADMIN για categories
+                                .requestMatchers("/api/caches/**").hasAnyAuthority(Role.ADMIN.name()) // ADMIN για caches
                                 .requestMatchers("/api/suppliers/**").hasAnyAuthority(Role.ADMIN.name()) // ADMIN για suppliers
                                 .requestMatchers("/api/products/**").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER/ADMIN για products
                                 .requestMatchers("/api/orders/**").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER/ADMIN για orders
+                                .requestMatchers("/api/suggest").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER/ADMIN για autocomplete
+                                .requestMatchers("/api/reports/order-summary/**").hasAnyAuthority(Role.ADMIN.name()) // ADMIN για rebuild του summary
+                                .requestMatchers("/api/reports/**").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name()) // USER/ADMIN για reports
+                                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Health check και Prometheus scrape (περιορισμός σε επίπεδο δικτύου)
+                                .requestMatchers("/actuator/**").hasAnyAuthority(Role.ADMIN.name()) // ADMIN για τα υπόλοιπα actuator endpoints
                                 .requestMatchers("/**").permitAll() // Static resources ή οτιδήποτε άλλο
                         //.authenticated()
                 )
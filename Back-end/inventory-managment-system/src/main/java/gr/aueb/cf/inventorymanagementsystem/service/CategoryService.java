@@ -1,9 +1,13 @@
 package gr.aueb.cf.inventorymanagementsystem.service;
 
+import gr.aueb.cf.inventorymanagementsystem.core.CacheNames;
+import gr.aueb.cf.inventorymanagementsystem.core.MetricsConfiguration;
+import gr.aueb.cf.inventorymanagementsystem.core.enums.SuggestionType;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppGenericException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectAlreadyExists;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppServerException;
+import gr.aueb.cf.inventorymanagementsystem.core.export.NdjsonStreamWriter;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.CategoryFilters;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.Paginated;
 import gr.aueb.cf.inventorymanagementsystem.core.specifications.CategorySpecification;
@@ -11,9 +15,12 @@ import gr.aueb.cf.inventorymanagementsystem.dto.*;
 import gr.aueb.cf.inventorymanagementsystem.mapper.Mapper;
 import gr.aueb.cf.inventorymanagementsystem.model.Category;
 import gr.aueb.cf.inventorymanagementsystem.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,15 +30,21 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class CategoryService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CategoryService.class);
     private final CategoryRepository categoryRepository;
     private final Mapper mapper;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final SuggestionService suggestionService;
 
 
     /**
@@ -46,16 +59,18 @@ public class CategoryService {
      * @return a {@link CategoryReadOnlyDTO} representing the saved category.
      * @throws AppObjectAlreadyExists if a category with the specified name already exists.
      */
+    @CacheEvict(cacheNames = {CacheNames.CATEGORIES_BY_NAME, CacheNames.ALL_CATEGORIES}, allEntries = true)
     @Transactional(rollbackFor = Exception.class)
     public CategoryReadOnlyDTO saveCategory(CategoryInsertDTO categoryInsertDTO)
             throws AppObjectAlreadyExists {
         try{
-            if (categoryRepository.findByName(categoryInsertDTO.getName()).isPresent()){
+            if (categoryRepository.findIdByName(categoryInsertDTO.getName()).isPresent()){
                 throw new AppObjectAlreadyExists("Category", "Category with name " + categoryInsertDTO.getName() + " already exists.");
             }
             Category category = mapper.mapToCategoryEntity(categoryInsertDTO);
 
             Category savedCategory = categoryRepository.save(category);
+            suggestionService.put(SuggestionType.CATEGORY, savedCategory.getId(), savedCategory.getName());
 
             // Return a CategoryReadOnlyDTO after saving
             return mapper.mapToCategoryReadOnlyDTO(savedCategory);
@@ -65,6 +80,7 @@ public class CategoryService {
         }
     }
 
+    @CacheEvict(cacheNames = {CacheNames.CATEGORIES_BY_NAME, CacheNames.ALL_CATEGORIES}, allEntries = true)
     @Transactional
     public CategoryReadOnlyDTO updateCategory(CategoryUpdateDTO categoryUpdateDTO)
             throws AppObjectNotFoundException, AppServerException {
@@ -79,6 +95,7 @@ public class CategoryService {
 
         // Αποθήκευση της ενημερωμένης παραγγελίας
         Category updatedCategory = categoryRepository.save(existingCategory);
+        suggestionService.put(SuggestionType.CATEGORY, updatedCategory.getId(), updatedCategory.getName());
 
         // Επιστροφή του ενημερωμένου Order ως DTO
         return mapper.mapToCategoryReadOnlyDTO(updatedCategory);
@@ -97,6 +114,7 @@ public class CategoryService {
      * @throws AppObjectNotFoundException if the category with the given ID does not exist
      * @throws AppGenericException if the category is associated with other entities or an unexpected error occurs
      */
+    @CacheEvict(cacheNames = {CacheNames.CATEGORIES_BY_NAME, CacheNames.ALL_CATEGORIES}, allEntries = true)
     public CategoryReadOnlyDTO deleteCategory(Long categoryId) throws AppGenericException {
 
         LOGGER.info("Starting deleteCategory for ID: {}", categoryId);
@@ -113,6 +131,7 @@ public class CategoryService {
             LOGGER.debug("Deleting category with ID: {}", categoryId);
             categoryRepository.delete(category);
             LOGGER.info("Category with ID {} deleted successfully", categoryId);
+            suggestionService.remove(SuggestionType.CATEGORY, categoryId);
 
         } catch (DataIntegrityViolationException ex) {
             LOGGER.error("Cannot delete category with ID {}: it is associated with other entities.", categoryId);
@@ -141,19 +160,14 @@ public class CategoryService {
      */
     public CategoryReadOnlyDTO getCategory(Long id) throws AppObjectNotFoundException {
 
-        LOGGER.info("Starting getCategory for ID: {}", id);
-
         // Εύρεση της κατηγορίας
-        LOGGER.debug("Fetching category with ID: {}", id);
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new AppObjectNotFoundException(
                         "Category",
                         "Category with id: " + id + " not found"));
 
-        LOGGER.info("Category with ID {} fetched successfully", id);
-
-        // Επιστροφή του DTO
-        LOGGER.debug("Mapping category with ID {} to DTO", id);
+        // Μόνο σε DEBUG, ώστε η ανάγνωση να μη γράφει log σε κάθε αίτημα
+        LOGGER.debug("Category with ID {} fetched", id);
         return mapper.mapToCategoryReadOnlyDTO(category);
     }
 
@@ -161,16 +175,24 @@ public class CategoryService {
     /**
      * Fetches all categories from the database.
      *
-     * <p>This method retrieves all categories and maps them to read-only DTOs.
+     * <p>This method retrieves all categories directly as read-only DTOs, selecting
+     * only the columns the DTO needs.
      * </p>
      *
      * @return a list of categories as {@link CategoryReadOnlyDTO}
      */
+    @Cacheable(cacheNames = CacheNames.ALL_CATEGORIES, key = "'all'")
     @Transactional
     public List<CategoryReadOnlyDTO> getAllCategories() {
-        return categoryRepository.findAll().stream()
-                .map(mapper::mapToCategoryReadOnlyDTO)
-                .toList();
+        return categoryRepository.findAllProjected();
+    }
+
+    /** Streams all categories as NDJSON through {@link NdjsonStreamWriter}. */
+    @Transactional(readOnly = true)
+    public long exportCategories(OutputStream outputStream) throws IOException {
+        try (Stream<CategoryReadOnlyDTO> categories = categoryRepository.streamAllProjected()) {
+            return ndjsonStreamWriter.write(categories, outputStream);
+        }
     }
 
     @Transactional
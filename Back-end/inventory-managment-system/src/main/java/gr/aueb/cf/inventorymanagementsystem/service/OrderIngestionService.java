@@ -0,0 +1,242 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gr.aueb.cf.inventorymanagementsystem.core.MetricsConfiguration;
+import gr.aueb.cf.inventorymanagementsystem.core.enums.OrderIngestionStatus;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppGenericException;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppTooManyRequestsException;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderIngestionStatusDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderInsertDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderItemInsertDTO;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous order ingestion.
+ *
+ * <p>{@link #submit(OrderInsertDTO)} validates the order cheaply, without touching the database,
+ * and puts it on a bounded in-process queue. When the queue is full the caller gets an
+ * {@link AppTooManyRequestsException} (429) immediately, instead of waiting for a free
+ * connection. Worker threads drain the queue in batches and save every batch in one
+ * transaction through {@link OrderService#saveOrder}. If a batch fails or rejects one of its
+ * orders, the batch is rolled back and its orders are saved again one transaction each, so one
+ * bad order does not fail the others.</p>
+ *
+ * <p>The outcome of every order is kept for {@code application.orders.ingestion.status-ttl} and
+ * can be read with {@link #getStatus(String)}. Queued orders are not persisted, so orders still
+ * in the queue are lost if the process is killed. On a normal shutdown the queue is drained.</p>
+ */
+@Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
+public class OrderIngestionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderIngestionService.class);
+
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<QueuedOrder> queue;
+    private final Cache<String, OrderIngestionStatusDTO> statuses;
+    private final int workers;
+    private final int batchSize;
+    private final boolean virtualThreads;
+    private CountDownLatch stopped;
+    private volatile boolean running;
+
+    public OrderIngestionService(OrderService orderService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${application.orders.ingestion.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${application.orders.ingestion.workers:2}") int workers,
+                                 @Value("${application.orders.ingestion.batch-size:50}") int batchSize,
+                                 @Value("${application.orders.ingestion.status-ttl:1h}") Duration statusTtl,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Πάντα χωράει τουλάχιστον όλη η ουρά, ώστε να μη χαθεί status παραγγελίας σε αναμονή
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(Math.max(10L * queueCapacity, 10_000L))
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        stopped = new CountDownLatch(workers);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("order-ingestion-");
+        executor.setDaemon(true);
+        // Με το profile vthreads οι workers τρέχουν σε virtual threads, όπως και τα requests
+        executor.setVirtualThreads(virtualThreads);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Οι workers αδειάζουν την ουρά πριν σταματήσουν (έως 30 δευτερόλεπτα).
+        // Δεν γίνεται interrupt, ώστε να μη διακοπεί αποθήκευση στη μέση
+        running = false;
+        if (!stopped.await(30, TimeUnit.SECONDS)) {
+            LOGGER.warn("Order ingestion stopped with {} orders still queued", queue.size());
+        }
+    }
+
+    /**
+     * Validates the order and queues it for saving.
+     *
+     * @param orderInsertDTO the order
+     * @return the QUEUED status with the tracking id of the order
+     * @throws AppObjectInvalidArgumentException if the order has no supplier or no valid order items
+     * @throws AppTooManyRequestsException       if the queue is full
+     */
+    public OrderIngestionStatusDTO submit(OrderInsertDTO orderInsertDTO)
+            throws AppObjectInvalidArgumentException, AppTooManyRequestsException {
+        validate(orderInsertDTO);
+
+        String trackingId = UUID.randomUUID().toString();
+        OrderIngestionStatusDTO status = new OrderIngestionStatusDTO(trackingId, OrderIngestionStatus.QUEUED, null, null);
+        statuses.put(trackingId, status);
+
+        if (!running || !queue.offer(new QueuedOrder(trackingId, orderInsertDTO))) {
+            statuses.invalidate(trackingId);
+            throw new AppTooManyRequestsException("OrderQueue", "The order queue is full, please retry later.");
+        }
+        return status;
+    }
+
+    public OrderIngestionStatusDTO getStatus(String trackingId) throws AppObjectNotFoundException {
+        OrderIngestionStatusDTO status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new AppObjectNotFoundException("OrderIngestion", "No order with tracking id: " + trackingId);
+        }
+        return status;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void validate(OrderInsertDTO orderInsertDTO) throws AppObjectInvalidArgumentException {
+        if (orderInsertDTO.getSupplier() == null || orderInsertDTO.getSupplier().getPhoneNumber() == null) {
+            throw new AppObjectInvalidArgumentException("Order", "The supplier phone number is required.");
+        }
+        if (orderInsertDTO.getOrderItems() == null || orderInsertDTO.getOrderItems().isEmpty()) {
+            throw new AppObjectInvalidArgumentException("Order", "The order must contain at least one product.");
+        }
+        for (OrderItemInsertDTO orderItem : orderInsertDTO.getOrderItems()) {
+            if (orderItem.getProduct() == null || orderItem.getProduct().getName() == null) {
+                throw new AppObjectInvalidArgumentException("Order", "Every order item must have a product name.");
+            }
+            if (orderItem.getQuantity() == null || orderItem.getQuantity() < 1) {
+                throw new AppObjectInvalidArgumentException("Order", "Quantity must be 1 or greater.");
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            drainQueue();
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    private void drainQueue() {
+        List<QueuedOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedOrder first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                saveBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Order ingestion worker error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void saveBatch(List<QueuedOrder> batch) {
+        try {
+            // Όλη η παρτίδα σε μία συναλλαγή, τα statuses δημοσιεύονται μετά το commit
+            Map<String, OrderIngestionStatusDTO> results = transactionTemplate.execute(status -> {
+                Map<String, OrderIngestionStatusDTO> outcome = new HashMap<>();
+                for (QueuedOrder queued : batch) {
+                    OrderIngestionStatusDTO result = save(queued, status);
+                    if (result.getStatus() == OrderIngestionStatus.FAILED) {
+                        // Το saveOrder κάνει rollback σε κάθε exception, οπότε και όλη η παρτίδα
+                        return null;
+                    }
+                    outcome.put(queued.trackingId(), result);
+                }
+                return outcome;
+            });
+            if (results != null) {
+                statuses.putAll(results);
+                return;
+            }
+            LOGGER.debug("Order ingestion batch of {} orders rejected an order, saving them one by one", batch.size());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Order ingestion batch of {} orders failed, saving them one by one", batch.size(), e);
+        }
+        batch.forEach(this::saveAlone);
+    }
+
+    private void saveAlone(QueuedOrder queued) {
+        try {
+            statuses.put(queued.trackingId(), transactionTemplate.execute(status -> save(queued, status)));
+        } catch (RuntimeException e) {
+            LOGGER.error("Order with tracking id {} could not be saved", queued.trackingId(), e);
+            statuses.put(queued.trackingId(), new OrderIngestionStatusDTO(queued.trackingId(),
+                    OrderIngestionStatus.FAILED, null, "Internal error while saving the order."));
+        }
+    }
+
+    private OrderIngestionStatusDTO save(QueuedOrder queued, TransactionStatus status) {
+        try {
+            Long orderId = orderService.saveOrder(queued.order()).getId();
+            return new OrderIngestionStatusDTO(queued.trackingId(), OrderIngestionStatus.COMPLETED, orderId, null);
+        } catch (AppGenericException e) {
+            // Το saveOrder έχει ήδη σημειώσει τη συναλλαγή για rollback. Το τοπικό rollback-only
+            // την τερματίζει χωρίς UnexpectedRollbackException στο commit
+            status.setRollbackOnly();
+            return new OrderIngestionStatusDTO(queued.trackingId(), OrderIngestionStatus.FAILED, null, e.getMessage());
+        }
+    }
+
+    private record QueuedOrder(String trackingId, OrderInsertDTO order) {
+    }
+}
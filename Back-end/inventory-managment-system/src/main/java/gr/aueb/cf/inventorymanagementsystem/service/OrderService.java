@@ -1,11 +1,16 @@
 package gr.aueb.cf.inventorymanagementsystem.service;
 
+import gr.aueb.cf.inventorymanagementsystem.core.MetricsConfiguration;
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppGenericException;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppServerException;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.OrderFilters;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.Paginated;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.ProductFilters;
+import gr.aueb.cf.inventorymanagementsystem.core.filters.ScrollCursor;
+import gr.aueb.cf.inventorymanagementsystem.core.filters.Scrolled;
 import gr.aueb.cf.inventorymanagementsystem.core.specifications.OrderSpecification;
 import gr.aueb.cf.inventorymanagementsystem.core.specifications.ProductSpecification;
 import gr.aueb.cf.inventorymanagementsystem.dto.*;
@@ -16,25 +21,31 @@ import gr.aueb.cf.inventorymanagementsystem.model.Product;
 import gr.aueb.cf.inventorymanagementsystem.repository.OrderRepository;
 import gr.aueb.cf.inventorymanagementsystem.repository.ProductRepository;
 import gr.aueb.cf.inventorymanagementsystem.repository.SupplierRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class OrderService {
 
@@ -42,9 +53,11 @@ public class OrderService {
     private final ProductRepository productRepository;
     private final SupplierRepository supplierRepository;
     private final OrderRepository orderRepository;
+    private final OrderSummaryService orderSummaryService;
+    private final StockWriteBehindService stockWriteBehindService;
     private final Mapper mapper;
 
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public OrderReadOnlyDTO saveOrder(OrderInsertDTO orderInsertDTO)
             throws AppObjectNotFoundException, AppGenericException {
 
@@ -52,7 +65,8 @@ public class OrderService {
         Order order = mapper.mapToOrderEntity(orderInsertDTO);
 
         // Εύρεση και ρύθμιση του Supplier
-        order.setSupplier(supplierRepository.findByPhoneNumber(order.getSupplier().getPhoneNumber())
+        order.setSupplier(supplierRepository.findIdByPhoneNumber(order.getSupplier().getPhoneNumber())
+                .map(supplierRepository::getReferenceById)
                 .orElseThrow(() -> new AppObjectNotFoundException("Supplier",
                         "Supplier with phoneNumber: " + order.getSupplier().getPhoneNumber() + " not found")));
 
@@ -61,14 +75,16 @@ public class OrderService {
             throw new AppGenericException("OrderItem", "The order must contain at least one product.");
         }
 
+        // Εύρεση όλων των προϊόντων με ένα μόνο query
+        Map<String, Product> productsByName = findProductsByName(orderInsertDTO.getOrderItems().stream()
+                .map(orderItemInsertDTO -> orderItemInsertDTO.getProduct().getName())
+                .toList());
+
         // Δημιουργία και σύνδεση OrderItems
         List<OrderItem> orderItems = new ArrayList<>();
         for (OrderItemInsertDTO orderItemInsertDTO : orderInsertDTO.getOrderItems()) {
-            Product product = productRepository.findByName(orderItemInsertDTO.getProduct().getName())
-                    .orElseThrow(() -> new AppObjectNotFoundException("Product",
-                            "Product with name: " + orderItemInsertDTO.getProduct().getName() + " not found"));
             OrderItem orderItem = mapper.mapToOrderItemEntity(orderItemInsertDTO);
-            orderItem.setProduct(product);
+            orderItem.setProduct(productsByName.get(NameNormalizer.normalize(orderItemInsertDTO.getProduct().getName())));
             orderItem.setOrder(order);
             orderItems.add(orderItem);
         }
@@ -78,19 +94,22 @@ public class OrderService {
         order.setOrderDate(LocalDate.now());
 
         // Αποθήκευση και επιστροφή του Order
-        return mapper.mapToOrderReadOnlyDTO(orderRepository.save(order));
+        Order savedOrder = orderRepository.save(order);
+        orderSummaryService.addOrder(savedOrder);
+        return mapToOrderReadOnlyDTO(savedOrder);
     }
 
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public OrderReadOnlyDTO deleteOrder(Long orderId) throws AppObjectNotFoundException {
         // Εύρεση της παραγγελίας
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new AppObjectNotFoundException("Order", "Order with id: " + orderId + " not found"));
 
         // Διαγραφή της παραγγελίας
+        orderSummaryService.removeOrder(order);
         orderRepository.delete(order);
 
-        return mapper.mapToOrderReadOnlyDTO(order);
+        return mapToOrderReadOnlyDTO(order);
     }
 
     @Transactional
@@ -98,10 +117,10 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new AppObjectNotFoundException("Order", "Order with id: " + id + " not found"));
 
-        return mapper.mapToOrderReadOnlyDTO(order);
+        return mapToOrderReadOnlyDTO(order);
     }
 
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public OrderReadOnlyDTO updateOrder(OrderUpdateDTO orderUpdateDTO)
             throws AppObjectNotFoundException, AppServerException{
 
@@ -112,21 +131,26 @@ public class OrderService {
 
         // Ενημέρωση του Supplier
         if (orderUpdateDTO.getSupplier() != null) {
-            existingOrder.setSupplier(supplierRepository.findByPhoneNumber(orderUpdateDTO.getSupplier().getPhoneNumber())
+            existingOrder.setSupplier(supplierRepository.findIdByPhoneNumber(orderUpdateDTO.getSupplier().getPhoneNumber())
+                    .map(supplierRepository::getReferenceById)
                     .orElseThrow(() -> new AppObjectNotFoundException("Supplier",
                             "Supplier with phoneNumber: " + orderUpdateDTO.getSupplier().getPhoneNumber() + " not found")));
         }
 
         // Ενημέρωση των OrderItems
         if (orderUpdateDTO.getOrderItems() != null && !orderUpdateDTO.getOrderItems().isEmpty()) {
+            Map<String, Product> productsByName = findProductsByName(orderUpdateDTO.getOrderItems().stream()
+                    .map(orderItemUpdateDTO -> orderItemUpdateDTO.getProduct().getName())
+                    .toList());
+
+            // Αφαίρεση των παλιών ποσοτήτων από το summary αφού βρεθούν supplier και προϊόντα,
+            // πριν αλλάξουν τα OrderItems
+            orderSummaryService.removeOrder(existingOrder);
+
             List<OrderItem> updatedOrderItems = new ArrayList<>();
             for (OrderItemUpdateDTO orderItemUpdateDTO : orderUpdateDTO.getOrderItems()) {
-                Product product = productRepository.findByName(orderItemUpdateDTO.getProduct().getName())
-                        .orElseThrow(() -> new AppObjectNotFoundException("Product",
-                                "Product with name: " + orderItemUpdateDTO.getProduct().getName() + " not found"));
-
                 OrderItem orderItem = mapper.mapToOrderItemEntity(orderItemUpdateDTO);
-                orderItem.setProduct(product);
+                orderItem.setProduct(productsByName.get(NameNormalizer.normalize(orderItemUpdateDTO.getProduct().getName())));
                 orderItem.setOrder(existingOrder);
                 updatedOrderItems.add(orderItem);
             }
@@ -143,9 +167,10 @@ public class OrderService {
 
         // Αποθήκευση της ενημερωμένης παραγγελίας
         Order updatedOrder = orderRepository.save(existingOrder);
+        orderSummaryService.addOrder(updatedOrder);
 
         // Επιστροφή του ενημερωμένου Order ως DTO
-        return mapper.mapToOrderReadOnlyDTO(updatedOrder);
+        return mapToOrderReadOnlyDTO(updatedOrder);
 
     }
 
@@ -155,10 +180,40 @@ public class OrderService {
         Specification<Order> spec = getSpecsFromFilters(filters);
 
         // Αναζήτηση με Specification και Pageable
-        var filtered = orderRepository.findAll(spec, filters.getPageable());
+        var filtered = fetchOrderItems(orderRepository.findAll(spec, filters.getPageable()));
 
         // Μετατροπή των αποτελεσμάτων σε DTO και επιστροφή με Paginated
-        return new Paginated<>(filtered.map(mapper::mapToOrderReadOnlyDTO));
+        return new Paginated<>(filtered.map(this::mapToOrderReadOnlyDTO));
+    }
+
+    /**
+     * Keyset (cursor) based listing of orders for infinite scroll screens.
+     *
+     * <p>The window continues after the {@code (sortBy, id)} values of the cursor instead of
+     * using an OFFSET, and the total count is only queried when {@code withTotalCount} is set.
+     * The order items of the window are loaded with one extra query.</p>
+     *
+     * @param filters the order filters, including the optional cursor
+     * @return a {@link Scrolled} window of {@link OrderReadOnlyDTO}
+     * @throws AppObjectInvalidArgumentException if the cursor is not valid
+     */
+    @Transactional(readOnly = true)
+    public Scrolled<OrderReadOnlyDTO> getOrdersFilteredScrolled(OrderFilters filters)
+            throws AppObjectInvalidArgumentException {
+        Specification<Order> spec = OrderSpecification.trSupplierNameIs(filters.getName());
+
+        // Το cursor αποκωδικοποιείται εκτός του lambda, αφού το decode πετάει checked exception
+        ScrollPosition position = ScrollCursor.decode(filters.getCursor());
+
+        Window<Order> window = orderRepository.findBy(spec, query -> query
+                .project("supplier")
+                .sortBy(filters.getSort())
+                .limit(filters.getPageSize())
+                .scroll(position));
+        fetchOrderItems(window.getContent());
+
+        Long totalElements = filters.isWithTotalCount() ? orderRepository.count(spec) : null;
+        return new Scrolled<>(window.map(this::mapToOrderReadOnlyDTO), filters.getPageSize(), totalElements);
     }
 
     @Transactional
@@ -173,21 +228,74 @@ public class OrderService {
         Pageable pageable = PageRequest.of(page, size);
 
         // Επιστροφή φιλτραρισμένων προϊόντων με σελιδοποίηση
-        Page<Order> paginatedOrders = orderRepository.findAll(spec, pageable);
-        return paginatedOrders.map(mapper::mapToOrderReadOnlyDTO);
+        Page<Order> paginatedOrders = fetchOrderItems(orderRepository.findAll(spec, pageable));
+        return paginatedOrders.map(this::mapToOrderReadOnlyDTO);
     }
 
     @Transactional
     public Page<OrderReadOnlyDTO> getPaginatedOrders(int page, int size) {
         String defaultSort = "orderDate";
         Pageable pageable = PageRequest.of(page, size, Sort.by(defaultSort).ascending());
-        return orderRepository.findAll(pageable).map(mapper::mapToOrderReadOnlyDTO);
+        return fetchOrderItems(orderRepository.findAll(pageable)).map(this::mapToOrderReadOnlyDTO);
+    }
+
+    /**
+     * Loads the order items graph for a page of orders.
+     *
+     * <p>The page itself is read with LIMIT/OFFSET over the orders only. The items, their
+     * products, suppliers and categories are then fetch-joined with one extra query by the
+     * ids of the page. The loaded entities are the same instances that the page holds, so a
+     * page costs a fixed number of queries regardless of its size.</p>
+     *
+     * @param orders the page of orders
+     * @return the same page, with the order items initialized
+     */
+    private Page<Order> fetchOrderItems(Page<Order> orders) {
+        fetchOrderItems(orders.getContent());
+        return orders;
+    }
+
+    private void fetchOrderItems(List<Order> orders) {
+        if (!orders.isEmpty()) {
+            orderRepository.findAllWithOrderItemsByIdIn(orders.stream().map(Order::getId).toList());
+        }
+    }
+
+    // Εύρεση των προϊόντων μιας παραγγελίας με ένα IN query, με κλειδί το κανονικοποιημένο όνομα,
+    // ώστε όπως και το findByName να μη γίνεται διάκριση πεζών/κεφαλαίων
+    private Map<String, Product> findProductsByName(List<String> names) throws AppObjectNotFoundException {
+        Map<String, String> distinctNames = new LinkedHashMap<>();
+        names.forEach(name -> distinctNames.putIfAbsent(NameNormalizer.normalize(name), name));
+
+        Map<String, Product> productsByName = productRepository.findAllByNameIn(distinctNames.values()).stream()
+                .collect(Collectors.toMap(product -> NameNormalizer.normalize(product.getName()),
+                        Function.identity(), (first, second) -> first));
+
+        // Όλα τα ονόματα που δεν βρέθηκαν αναφέρονται σε ένα μήνυμα
+        List<String> missingNames = distinctNames.entrySet().stream()
+                .filter(entry -> !productsByName.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+
+        if (!missingNames.isEmpty()) {
+            throw new AppObjectNotFoundException("Product",
+                    "Products with names: " + String.join(", ", missingNames) + " not found");
+        }
+
+        return productsByName;
+    }
+
+    // Η ποσότητα των προϊόντων περιλαμβάνει και τα deltas του write-behind που δεν έχουν γραφτεί ακόμη
+    private OrderReadOnlyDTO mapToOrderReadOnlyDTO(Order order) {
+        OrderReadOnlyDTO orderDTO = mapper.mapToOrderReadOnlyDTO(order);
+        orderDTO.getOrderItems().forEach(item -> stockWriteBehindService.merge(item.getProduct()));
+        return orderDTO;
     }
 
     private Specification<Order> getSpecsFromFilters(OrderFilters filters) {
+        // Οι παραγγελίες δεν έχουν όνομα, το name των φίλτρων είναι το όνομα του προμηθευτή
         return Specification
-                .where(OrderSpecification.trStringFieldLike("name", filters.getName()))
-                .and(OrderSpecification.trSupplierNameIs(filters.getName()));
+                .where(OrderSpecification.trSupplierNameIs(filters.getName()));
     }
 
 }
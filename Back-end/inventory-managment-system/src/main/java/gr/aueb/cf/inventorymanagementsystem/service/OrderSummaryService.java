@@ -0,0 +1,111 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import gr.aueb.cf.inventorymanagementsystem.core.MetricsConfiguration;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.inventorymanagementsystem.dto.DailyOrderedQuantityDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductOrderedQuantityDTO;
+import gr.aueb.cf.inventorymanagementsystem.model.Order;
+import gr.aueb.cf.inventorymanagementsystem.model.OrderItem;
+import gr.aueb.cf.inventorymanagementsystem.model.ProductDayId;
+import gr.aueb.cf.inventorymanagementsystem.repository.ProductDailyOrderSummaryRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the {@code product_daily_order_summary} table (units ordered per product and day).
+ *
+ * <p>The order write paths call {@link #addOrder(Order)} and {@link #removeOrder(Order)} inside
+ * their own transaction. The summary rolls back with the order only if that transaction does:
+ * a plain {@code @Transactional} commits on checked exceptions, so the callers declare
+ * {@code rollbackFor = Exception.class} and resolve everything that can fail before the first
+ * summary write.</p>
+ */
+@Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class OrderSummaryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderSummaryService.class);
+    private final ProductDailyOrderSummaryRepository summaryRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addOrder(Order order) {
+        apply(order, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeOrder(Order order) {
+        apply(order, -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeProduct(Long productId) {
+        summaryRepository.deleteAllByProductId(productId);
+    }
+
+    /**
+     * Recomputes the whole summary from {@code order_items} and {@code orders}.
+     *
+     * @return the number of summary rows written
+     */
+    @Transactional
+    public int rebuild() {
+        int deleted = summaryRepository.deleteAllRows();
+        int inserted = summaryRepository.insertAllFromOrderItems();
+        LOGGER.info("Order summary rebuilt. Deleted {} rows, inserted {} rows", deleted, inserted);
+        return inserted;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductOrderedQuantityDTO> getTopOrderedProducts(int days, int limit)
+            throws AppObjectInvalidArgumentException {
+        validate(days, limit);
+        return summaryRepository.findTopOrderedSince(since(days), PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyOrderedQuantityDTO> getDailyOrderedQuantity(Long productId, int days)
+            throws AppObjectInvalidArgumentException {
+        validate(days, 1);
+        return summaryRepository.findDailyByProductIdSince(productId, since(days));
+    }
+
+    private void apply(Order order, int sign) {
+        if (order.getAllOrderItems() == null || order.getOrderDate() == null) {
+            return;
+        }
+
+        // Συγχώνευση των γραμμών του ίδιου προϊόντος σε ένα upsert
+        Map<ProductDayId, Long> deltas = new HashMap<>();
+        for (OrderItem orderItem : order.getAllOrderItems()) {
+            if (orderItem.getProduct() == null || orderItem.getQuantity() == null) {
+                continue;
+            }
+            deltas.merge(new ProductDayId(orderItem.getProduct().getId(), order.getOrderDate()),
+                    (long) sign * orderItem.getQuantity(), Long::sum);
+        }
+
+        deltas.forEach((id, delta) -> summaryRepository.addOrderedQuantity(id.getProductId(), id.getDay(), delta));
+    }
+
+    private LocalDate since(int days) {
+        return LocalDate.now().minusDays(days - 1L);
+    }
+
+    private void validate(int days, int limit) throws AppObjectInvalidArgumentException {
+        if (days <= 0 || limit <= 0) {
+            throw new AppObjectInvalidArgumentException("Report", "days and limit must be greater than zero");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.inventorymanagementsystem.core.MetricsConfiguration;
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
+import gr.aueb.cf.inventorymanagementsystem.core.enums.SuggestionType;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.inventorymanagementsystem.core.imports.ImportFormat;
+import gr.aueb.cf.inventorymanagementsystem.core.imports.ProductImportReader;
+import gr.aueb.cf.inventorymanagementsystem.core.imports.ProductImportRow;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductImportErrorDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductImportReportDTO;
+import gr.aueb.cf.inventorymanagementsystem.model.Category;
+import gr.aueb.cf.inventorymanagementsystem.model.Product;
+import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
+import gr.aueb.cf.inventorymanagementsystem.repository.CategoryRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.ProductRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.SupplierRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of products from a CSV or NDJSON stream.
+ *
+ * <p>The input is read line by line and imported in chunks of
+ * {@code application.import.products.chunk-size} rows. Each chunk runs in its own
+ * transaction: suppliers, categories and existing product names are resolved with one
+ * query each, and the new products are inserted in JDBC batches. A failed chunk is rolled
+ * back without affecting the chunks before or after it.</p>
+ */
+@Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductImportService.class);
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SuggestionService suggestionService;
+
+    @Value("${application.import.products.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${application.import.products.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Imports the products of the given stream.
+     *
+     * @param inputStream the request body
+     * @param format      CSV (with a header line) or NDJSON
+     * @return the number of imported and failed rows and the errors per row
+     * @throws IOException if reading the input fails
+     */
+    public ProductImportReportDTO importProducts(InputStream inputStream, ImportFormat format) throws IOException {
+        ProductImportReportDTO report = new ProductImportReportDTO();
+        List<ProductImportRow> chunk = new ArrayList<>(chunkSize);
+
+        try (ProductImportReader reader = new ProductImportReader(objectMapper, inputStream, format)) {
+            while (true) {
+                ProductImportRow row;
+                try {
+                    row = reader.next();
+                } catch (AppObjectInvalidArgumentException e) {
+                    report.setTotalRows(report.getTotalRows() + 1);
+                    reject(report, new ProductImportErrorDTO(reader.getLineNumber(), null, e.getMessage()));
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+
+                report.setTotalRows(report.getTotalRows() + 1);
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        LOGGER.info("Product import finished. Rows={}, imported={}, failed={}",
+                report.getTotalRows(), report.getImportedRows(), report.getFailedRows());
+        return report;
+    }
+
+    private void importChunk(List<ProductImportRow> rows, ProductImportReportDTO report) {
+        List<ProductImportErrorDTO> rejected = new ArrayList<>();
+        try {
+            Integer imported = transactionTemplate.execute(status -> saveChunk(rows, rejected));
+            report.setImportedRows(report.getImportedRows() + (imported != null ? imported : 0));
+            rejected.forEach(error -> reject(report, error));
+        } catch (RuntimeException e) {
+            // Το chunk έγινε rollback: όλες οι γραμμές του αποτυγχάνουν
+            LOGGER.error("Product import chunk starting at line {} rolled back", rows.get(0).getLineNumber(), e);
+            Set<Long> rejectedLines = rejected.stream().map(ProductImportErrorDTO::getLine).collect(Collectors.toSet());
+            rejected.forEach(error -> reject(report, error));
+            rows.stream()
+                    .filter(row -> !rejectedLines.contains(row.getLineNumber()))
+                    .forEach(row -> reject(report, new ProductImportErrorDTO(row.getLineNumber(), row.getName(),
+                            "Chunk rolled back: " + e.getMessage())));
+        }
+    }
+
+    private int saveChunk(List<ProductImportRow> rows, List<ProductImportErrorDTO> rejected) {
+        // Μία αναζήτηση ανά chunk για suppliers, categories και υπάρχοντα ονόματα προϊόντων.
+        // Τα κλειδιά είναι κανονικοποιημένα, αφού η σύγκριση των ονομάτων δεν κάνει διάκριση πεζών/κεφαλαίων
+        Map<String, Supplier> suppliers = supplierRepository
+                .findAllByNameIn(collect(rows, ProductImportRow::getSupplierName)).stream()
+                .collect(Collectors.toMap(supplier -> NameNormalizer.normalize(supplier.getName()),
+                        Function.identity(), (first, second) -> first));
+        Map<String, Category> categories = categoryRepository
+                .findAllByNameIn(collect(rows, ProductImportRow::getCategoryName)).stream()
+                .collect(Collectors.toMap(category -> NameNormalizer.normalize(category.getName()),
+                        Function.identity(), (first, second) -> first));
+        Set<String> productNames = productRepository
+                .findExistingNames(collect(rows, ProductImportRow::getName)).stream()
+                .map(NameNormalizer::normalize)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Product> products = new ArrayList<>(rows.size());
+        for (ProductImportRow row : rows) {
+            String error = validate(row, suppliers, categories, productNames);
+            if (error != null) {
+                rejected.add(new ProductImportErrorDTO(row.getLineNumber(), row.getName(), error));
+                continue;
+            }
+
+            Product product = new Product();
+            product.setName(row.getName());
+            product.setDescription(row.getDescription());
+            product.setPrice(row.getPrice());
+            product.setQuantity(row.getQuantity());
+            product.setSupplier(suppliers.get(NameNormalizer.normalize(row.getSupplierName())));
+            product.setCategory(categories.get(NameNormalizer.normalize(row.getCategoryName())));
+            products.add(product);
+
+            // Ώστε να απορριφθούν και τα διπλότυπα μέσα στο ίδιο αρχείο
+            productNames.add(NameNormalizer.normalize(row.getName()));
+        }
+
+        productRepository.saveAll(products);
+        products.forEach(product -> suggestionService.put(SuggestionType.PRODUCT, product.getId(), product.getName()));
+        return products.size();
+    }
+
+    private String validate(ProductImportRow row, Map<String, Supplier> suppliers,
+                            Map<String, Category> categories, Set<String> productNames) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "Product name is required";
+        }
+        if (productNames.contains(NameNormalizer.normalize(row.getName()))) {
+            return "Product with name " + row.getName() + " already exists.";
+        }
+        if (row.getPrice() == null || row.getPrice() <= 0) {
+            return "Price must be greater than zero.";
+        }
+        if (row.getQuantity() == null || row.getQuantity() < 0) {
+            return "Product quantity is required and must not be negative";
+        }
+        if (!suppliers.containsKey(NameNormalizer.normalize(row.getSupplierName()))) {
+            return "Supplier not found";
+        }
+        if (!categories.containsKey(NameNormalizer.normalize(row.getCategoryName()))) {
+            return "Category not found";
+        }
+        return null;
+    }
+
+    private Set<String> collect(List<ProductImportRow> rows, Function<ProductImportRow, String> getter) {
+        return rows.stream()
+                .map(getter)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private void reject(ProductImportReportDTO report, ProductImportErrorDTO error) {
+        report.setFailedRows(report.getFailedRows() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(error);
+        }
+    }
+}
@@ -1,23 +1,36 @@
 package gr.aueb.cf.inventorymanagementsystem.service;
 
 
+import gr.aueb.cf.inventorymanagementsystem.core.MetricsConfiguration;
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
+import gr.aueb.cf.inventorymanagementsystem.core.enums.SuggestionType;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppGenericException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectAlreadyExists;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppServerException;
+import gr.aueb.cf.inventorymanagementsystem.core.export.NdjsonStreamWriter;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.Paginated;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.ProductFilters;
+import gr.aueb.cf.inventorymanagementsystem.core.filters.ScrollCursor;
+import gr.aueb.cf.inventorymanagementsystem.core.filters.Scrolled;
 import gr.aueb.cf.inventorymanagementsystem.core.specifications.ProductSpecification;
 import gr.aueb.cf.inventorymanagementsystem.dto.*;
 import gr.aueb.cf.inventorymanagementsystem.mapper.Mapper;
 import gr.aueb.cf.inventorymanagementsystem.model.*;
 import gr.aueb.cf.inventorymanagementsystem.repository.CategoryRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.OrderItemRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.OrderRepository;
 import gr.aueb.cf.inventorymanagementsystem.repository.ProductRepository;
 import gr.aueb.cf.inventorymanagementsystem.repository.SupplierRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -25,20 +38,41 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ProductService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProductService.class);
+    private static final int DELETE_CHUNK_SIZE = 1000;
     private final ProductRepository productRepository;
     private final SupplierRepository supplierRepository;
     private final CategoryRepository categoryRepository;
-    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderSummaryService orderSummaryService;
     private final Mapper mapper;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final StockWriteBehindService stockWriteBehindService;
+    private final SuggestionService suggestionService;
+
+    @Value("${application.inventory.low-stock-threshold:10}")
+    private int defaultLowStockThreshold;
+
+    @Value("${application.search.products.min-query-length:3}")
+    private int searchMinQueryLength;
+
+    @Value("${application.search.products.max-results:50}")
+    private int searchMaxResults;
 
     @Transactional
     public ProductReadOnlyDTO saveProduct(ProductInsertDTO productInsertDTO)
@@ -53,10 +87,12 @@ public class ProductService {
             throw new AppGenericException("Product", "Price must be greater than zero.");
         }
 
-        Supplier supplier = supplierRepository.findByName(productInsertDTO.getSupplier().getName())
+        Supplier supplier = supplierRepository.findIdByName(productInsertDTO.getSupplier().getName())
+                .map(supplierRepository::getReferenceById)
                 .orElseThrow(() -> new AppObjectNotFoundException("Supplier","Supplier not found"));
 
-        Category category = categoryRepository.findByName(productInsertDTO.getCategory().getName())
+        Category category = categoryRepository.findIdByName(productInsertDTO.getCategory().getName())
+                .map(categoryRepository::getReferenceById)
                 .orElseThrow(() -> new AppObjectNotFoundException("Category", "Category not found"));
 
         Product product = mapper.mapToProductEntity(productInsertDTO);
@@ -65,56 +101,151 @@ public class ProductService {
 
         // Save the product (cascades to Supplier and Category)
         Product savedProduct = productRepository.save(product);
+        suggestionService.put(SuggestionType.PRODUCT, savedProduct.getId(), savedProduct.getName());
 
         // Return a ProductReadOnlyDTO after saving
-        return mapper.mapToProductReadOnlyDTO(savedProduct);
+        return mapToProductReadOnlyDTO(savedProduct);
     }
 
     @Transactional
     public Paginated<ProductReadOnlyDTO> getProductsFilteredPaginated(ProductFilters filters) {
         var filtered = productRepository.findAll(getSpecsFromFilters(filters), filters.getPageable());
-        return new Paginated<>(filtered.map(mapper::mapToProductReadOnlyDTO));
+        return new Paginated<>(filtered.map(this::mapToProductReadOnlyDTO));
+    }
+
+    /**
+     * Keyset (cursor) based listing of products.
+     *
+     * <p>Instead of an OFFSET, the next window continues after the {@code (sortBy, id)} values
+     * of the cursor, so deep windows cost the same as the first one. The total count is only
+     * queried when {@code withTotalCount} is set in the filters.</p>
+     *
+     * @param filters the product filters, including the optional cursor
+     * @return a {@link Scrolled} window of {@link ProductReadOnlyDTO}
+     * @throws AppObjectInvalidArgumentException if the cursor is not valid
+     */
+    @Transactional(readOnly = true)
+    public Scrolled<ProductReadOnlyDTO> getProductsFilteredScrolled(ProductFilters filters)
+            throws AppObjectInvalidArgumentException {
+        Specification<Product> spec = getSpecsFromFilters(filters);
+
+        // Το cursor αποκωδικοποιείται εκτός του lambda, αφού το decode πετάει checked exception
+        ScrollPosition position = ScrollCursor.decode(filters.getCursor());
+
+        Window<Product> window = productRepository.findBy(spec, query -> query
+                .project("supplier", "category")
+                .sortBy(filters.getSort())
+                .limit(filters.getPageSize())
+                .scroll(position));
+
+        Long totalElements = filters.isWithTotalCount() ? productRepository.count(spec) : null;
+        return new Scrolled<>(window.map(this::mapToProductReadOnlyDTO), filters.getPageSize(), totalElements);
     }
 
     @Transactional
     public Page<ProductReadOnlyDTO> getProductsFiltered(ProductFilters filters, int page, int size) {
-        Specification<Product> spec = Specification.where(null);
+        // Φίλτρο για το όνομα προϊόντος (null = χωρίς φίλτρο)
+        String pattern = (filters.getName() != null && !filters.getName().isBlank())
+                ? NameNormalizer.prefixPattern(filters.getName()) : null;
 
-        // Προσθήκη φίλτρου για το όνομα προϊόντος
-        if (filters.getName() != null && !filters.getName().isBlank()) {
-            spec = spec.and(ProductSpecification.productNameIs(filters.getName()));
+        Pageable pageable = PageRequest.of(page, size);
+
+        // Επιστροφή φιλτραρισμένων προϊόντων με σελιδοποίηση απευθείας ως DTO projection
+        return productRepository.findAllProjectedByNameStartingWith(pattern, pageable)
+                .map(stockWriteBehindService::merge);
+    }
+
+    /**
+     * Ranked full-text search on product name and description.
+     *
+     * <p>The ids are found through the FULLTEXT indexes of {@code products}, ordered by relevance
+     * with name matches weighted higher, and only that page of products is then loaded as DTOs.
+     * The indexes are maintained by InnoDB on every insert, update and delete, so the results
+     * follow product changes without a rebuild. Queries shorter than the n-gram size cannot be
+     * matched by the index and fall back to a name prefix search.</p>
+     *
+     * @param query the search text
+     * @param limit the maximum number of results, {@code null} for the configured maximum
+     * @return the matching products, most relevant first
+     */
+    @Transactional(readOnly = true)
+    public List<ProductReadOnlyDTO> searchProducts(String query, Integer limit) {
+        String text = query != null ? query.strip() : "";
+        if (text.isEmpty()) {
+            return List.of();
         }
+        int size = (limit != null && limit > 0) ? Math.min(limit, searchMaxResults) : searchMaxResults;
 
-        Pageable pageable = PageRequest.of(page, size);
+        if (text.length() < searchMinQueryLength) {
+            return productRepository.findAllProjectedByNameStartingWith(NameNormalizer.prefixPattern(text),
+                            PageRequest.of(0, size, Sort.by("name")))
+                    .map(stockWriteBehindService::merge)
+                    .getContent();
+        }
 
-        // Επιστροφή φιλτραρισμένων προϊόντων με σελιδοποίηση
-        Page<Product> paginatedProducts = productRepository.findAll(spec, pageable);
-        return paginatedProducts.map(mapper::mapToProductReadOnlyDTO);
+        List<Long> ids = productRepository.searchIds(text, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Επαναφορά της σειράς relevance, το IN δεν διατηρεί τη σειρά των ids
+        Map<Long, ProductReadOnlyDTO> byId = new HashMap<>();
+        productRepository.findAllProjectedByIdIn(ids).forEach(product -> byId.put(product.getId(), product));
+
+        List<ProductReadOnlyDTO> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductReadOnlyDTO product = byId.get(id);
+            if (product != null) {
+                results.add(stockWriteBehindService.merge(product));
+            }
+        }
+        return results;
     }
 
     @Transactional
     public Page<ProductReadOnlyDTO> getPaginatedProducts(int page, int size) {
         String defaultSort = "name";
         Pageable pageable = PageRequest.of(page, size, Sort.by(defaultSort).ascending());
-        return productRepository.findAll(pageable).map(mapper::mapToProductReadOnlyDTO);
+        return productRepository.findAll(pageable).map(this::mapToProductReadOnlyDTO);
     }
 
+    /**
+     * Deletes a product together with its order items, using set-based deletes instead of
+     * loading and removing every order line. Orders that are left without any order items
+     * are deleted as well. Everything runs in one transaction.
+     *
+     * @param productId the id of the product
+     * @return the deleted product and the number of deleted order items and orders
+     * @throws AppObjectNotFoundException if the product does not exist
+     */
     @Transactional
-    public ProductReadOnlyDTO deleteProduct(Long productId) throws AppObjectNotFoundException {
+    public ProductDeleteResultDTO deleteProduct(Long productId) throws AppObjectNotFoundException {
         // Εύρεση του προϊόντος
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new AppObjectNotFoundException("Product", "Product with id: " + productId + " not found"));
+        ProductReadOnlyDTO productReadOnlyDTO = mapToProductReadOnlyDTO(product);
+
+        // Οι παραγγελίες που περιέχουν το προϊόν, πριν διαγραφούν τα order items
+        List<Long> orderIds = orderItemRepository.findOrderIdsByProductId(productId);
+
+        int deletedOrderItems = orderItemRepository.deleteAllByProductId(productId);
 
-        for (OrderItem item : product.getAllOrderItems()) {
-            orderService.deleteOrder(item.getOrder().getId());
+        // Διαγραφή των παραγγελιών που έμειναν χωρίς order items, σε τμήματα για φραγμένο IN
+        int deletedOrders = 0;
+        for (int from = 0; from < orderIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, orderIds.size()));
+            deletedOrders += orderRepository.deleteAllWithoutOrderItemsByIdIn(chunk);
         }
 
-        product.clearOrderItems();
+        orderSummaryService.removeProduct(productId);
 
         // Διαγραφή του προϊόντος
-        productRepository.delete(product);
+        productRepository.deleteProductById(productId);
+        suggestionService.remove(SuggestionType.PRODUCT, productId);
 
-        return mapper.mapToProductReadOnlyDTO(product);
+        LOGGER.info("Product with id={} deleted with {} order items and {} orders",
+                productId, deletedOrderItems, deletedOrders);
+        return new ProductDeleteResultDTO(productReadOnlyDTO, deletedOrderItems, deletedOrders);
     }
 
     @Transactional
@@ -122,7 +253,7 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new AppObjectNotFoundException("Product", "Product with id: " + id + " not found"));
 
-        return mapper.mapToProductReadOnlyDTO(product);
+        return mapToProductReadOnlyDTO(product);
     }
 
     @Transactional
@@ -136,7 +267,8 @@ public class ProductService {
 
         // Ενημέρωση του Supplier
         if (productUpdateDTO.getSupplier() != null) {
-            existingProduct.setSupplier(supplierRepository.findByPhoneNumber(productUpdateDTO.getSupplier().getPhoneNumber())
+            existingProduct.setSupplier(supplierRepository.findIdByPhoneNumber(productUpdateDTO.getSupplier().getPhoneNumber())
+                    .map(supplierRepository::getReferenceById)
                     .orElseThrow(() -> new AppObjectNotFoundException("Supplier",
                             "Supplier with phoneNumber: " + productUpdateDTO.getSupplier().getPhoneNumber() + " not found")));
         }
@@ -151,22 +283,114 @@ public class ProductService {
         existingProduct.setName(productUpdateDTO.getName());
         existingProduct.setDescription(productUpdateDTO.getDescription());
         existingProduct.setPrice(productUpdateDTO.getPrice());
-        existingProduct.setQuantity(productUpdateDTO.getQuantity());
 
-        
+        // Σε write-behind η ποσότητα που έστειλε ο client περιλαμβάνει ήδη τα buffered deltas.
+        // Η γραμμή κρατά την τρέχουσα ποσότητα και η διαφορά γράφεται από το επόμενο flush
+        Integer storedQuantity = null;
+        if (stockWriteBehindService.isEnabled()) {
+            storedQuantity = stockWriteBehindService.lockStoredQuantity(existingProduct.getId())
+                    .orElseThrow(() -> new AppObjectNotFoundException("Product",
+                            "Product with id: " + productUpdateDTO.getId() + " not found"));
+            existingProduct.setQuantity(storedQuantity);
+        } else {
+            existingProduct.setQuantity(productUpdateDTO.getQuantity());
+        }
+
         // Αποθήκευση της ενημερωμένης παραγγελίας
-        Product updatedProduct = productRepository.save(existingProduct);
+        Product updatedProduct = productRepository.saveAndFlush(existingProduct);
+        if (storedQuantity != null) {
+            stockWriteBehindService.replaceQuantity(updatedProduct.getId(), storedQuantity, productUpdateDTO.getQuantity());
+        }
+        suggestionService.put(SuggestionType.PRODUCT, updatedProduct.getId(), updatedProduct.getName());
 
         // Επιστροφή του ενημερωμένου Order ως DTO
-        return mapper.mapToProductReadOnlyDTO(updatedProduct);
+        return mapToProductReadOnlyDTO(updatedProduct);
 
     }
 
     @Transactional
     public List<ProductReadOnlyDTO> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(mapper::mapToProductReadOnlyDTO)
-                .toList();
+        List<ProductReadOnlyDTO> products = productRepository.findAllProjected();
+        products.forEach(stockWriteBehindService::merge);
+        return products;
+    }
+
+    /** Streams all products as NDJSON through {@link NdjsonStreamWriter}. */
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream outputStream) throws IOException {
+        try (Stream<ProductReadOnlyDTO> products = productRepository.streamAllProjected()) {
+            return ndjsonStreamWriter.write(products.map(stockWriteBehindService::merge), outputStream);
+        }
+    }
+
+    /**
+     * Adds the given delta to the stock of a product atomically. Unlike {@link #updateProduct},
+     * which overwrites the quantity, concurrent adjustments are never lost.
+     *
+     * <p>In write-behind mode the delta is buffered in memory and flushed later by
+     * {@link StockWriteBehindService}. The stock check then uses the quantity held by the
+     * buffer of the product, and the check and the buffering are one atomic step.</p>
+     *
+     * @param productId the id of the product
+     * @param delta     positive to add stock, negative to remove it
+     * @return the product with its new quantity
+     * @throws AppObjectNotFoundException        if the product does not exist
+     * @throws AppObjectInvalidArgumentException if the stock would become negative
+     */
+    @Transactional
+    public ProductReadOnlyDTO adjustStock(Long productId, int delta)
+            throws AppObjectNotFoundException, AppObjectInvalidArgumentException {
+        if (stockWriteBehindService.isEnabled()) {
+            return bufferStockAdjustment(productId, delta);
+        }
+
+        if (productRepository.adjustQuantity(productId, delta) == 0) {
+            if (!productRepository.existsById(productId)) {
+                throw new AppObjectNotFoundException("Product", "Product with id: " + productId + " not found");
+            }
+            throw new AppObjectInvalidArgumentException("Stock",
+                    "Insufficient stock for product with id: " + productId + " (delta " + delta + ")");
+        }
+
+        return productRepository.findProjectedById(productId)
+                .map(stockWriteBehindService::merge)
+                .orElseThrow(() -> new AppObjectNotFoundException("Product", "Product with id: " + productId + " not found"));
+    }
+
+    private ProductReadOnlyDTO bufferStockAdjustment(Long productId, int delta)
+            throws AppObjectNotFoundException, AppObjectInvalidArgumentException {
+        return stockWriteBehindService.reserve(productId, delta, () -> productRepository.findProjectedById(productId))
+                .orElseThrow(() -> new AppObjectNotFoundException("Product", "Product with id: " + productId + " not found"));
+    }
+
+    /**
+     * Total stock and stock value (price × quantity) of the whole catalog.
+     *
+     * @param lowStockThreshold products with quantity up to this value are counted as low stock,
+     *                          {@code null} for the configured default
+     */
+    @Transactional(readOnly = true)
+    public StockSummaryDTO getStockSummary(Integer lowStockThreshold) {
+        return productRepository.getStockSummary(resolveThreshold(lowStockThreshold));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockGroupDTO> getStockByCategory(Integer lowStockThreshold) {
+        return productRepository.getStockByCategory(resolveThreshold(lowStockThreshold));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockGroupDTO> getStockBySupplier(Integer lowStockThreshold) {
+        return productRepository.getStockBySupplier(resolveThreshold(lowStockThreshold));
+    }
+
+    private int resolveThreshold(Integer lowStockThreshold) {
+        return lowStockThreshold != null ? lowStockThreshold : defaultLowStockThreshold;
+    }
+
+    // Η ποσότητα περιλαμβάνει και τα deltas του write-behind που δεν έχουν γραφτεί ακόμη
+    private ProductReadOnlyDTO mapToProductReadOnlyDTO(Product product) {
+        return stockWriteBehindService.merge(mapper.mapToProductReadOnlyDTO(product));
     }
 
     private Specification<Product> getSpecsFromFilters(ProductFilters filters) {
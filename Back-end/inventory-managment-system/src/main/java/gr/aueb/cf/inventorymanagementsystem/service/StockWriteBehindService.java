@@ -0,0 +1,315 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductReadOnlyDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Optional write-behind buffer for stock adjustments.
+ *
+ * <p>When {@code application.inventory.stock-write-behind.enabled} is true, stock deltas are
+ * buffered in memory per product instead of updating the product row. The pending deltas are
+ * written to {@code products} with one batched UPDATE per flush, on a schedule and on shutdown.
+ * Product reads merge the buffered quantity through {@link #merge(ProductReadOnlyDTO)}, so the
+ * API shows the current quantity. The aggregate reports read the table, so they can lag by up to
+ * one flush interval.</p>
+ *
+ * <p>While a product has a buffer, the buffer owns its quantity: the stored quantity, read once
+ * with a locking read when the buffer is created, plus the pending deltas and the deltas of a
+ * running flush. Reservations and reads use only this per-product state, so they never wait for
+ * a flush and never count a flushed delta twice. The stock check and the update of the buffer
+ * are one atomic step per product, so concurrent decrements cannot overdraw the stock.</p>
+ *
+ * <p>The flush UPDATE keeps the same {@code quantity + delta >= 0} guard as the direct
+ * adjustment. A row it rejects was changed outside the application or deleted; its buffer is
+ * dropped and the next reservation reads the row again. Deltas that have not been flushed are
+ * lost if the process is killed. The mode is meant for high-rate +1/-1 adjustments on a few hot
+ * products.</p>
+ */
+@Service
+public class StockWriteBehindService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StockWriteBehindService.class);
+    private static final String FLUSH_SQL =
+            "UPDATE products SET quantity = quantity + ?, updated_at = ? WHERE id = ? AND quantity + ? >= 0";
+    // Locking read: διαβάζει την τελευταία committed τιμή και όχι το snapshot του transaction
+    private static final String LOCK_QUANTITY_SQL = "SELECT quantity FROM products WHERE id = ? FOR UPDATE";
+
+    private final ConcurrentHashMap<Long, BufferedStock> buffers = new ConcurrentHashMap<>();
+    // Μόνο ένα flush τη φορά. ReentrantLock αντί για synchronized, ώστε ένα virtual thread
+    // να μη δεσμεύει τον carrier όσο περιμένει τη βάση
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.inventory.stock-write-behind.enabled:false}")
+    private boolean enabled;
+
+    public StockWriteBehindService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers a stock delta if the stock of the product stays non negative.
+     * Must be called inside a transaction, which holds the row lock taken when a buffer is created.
+     *
+     * @param productId     the id of the product
+     * @param delta         positive to add stock, negative to remove it
+     * @param storedProduct reads the product returned to the caller
+     * @return the product with the quantity including the buffered deltas, empty if it does not exist
+     * @throws AppObjectInvalidArgumentException if the stock would become negative
+     */
+    public Optional<ProductReadOnlyDTO> reserve(Long productId, int delta,
+                                                Supplier<Optional<ProductReadOnlyDTO>> storedProduct)
+            throws AppObjectInvalidArgumentException {
+        Optional<ProductReadOnlyDTO> product = storedProduct.get();
+        if (product.isEmpty()) {
+            return product;
+        }
+
+        long quantity;
+        while (true) {
+            BufferedStock buffered = buffers.get(productId);
+            if (buffered == null) {
+                Optional<Integer> stored = lockStoredQuantity(productId);
+                if (stored.isEmpty()) {
+                    return Optional.empty();
+                }
+                buffered = buffers.computeIfAbsent(productId, id -> new BufferedStock(stored.get()));
+            }
+            quantity = buffered.reserve(delta);
+            if (quantity != BufferedStock.RETIRED) {
+                break;
+            }
+            // Το flush μόλις το απέσυρε, η επόμενη επανάληψη ξαναδιαβάζει τη γραμμή
+            buffers.remove(productId, buffered);
+        }
+
+        if (quantity < 0) {
+            throw new AppObjectInvalidArgumentException("Stock",
+                    "Insufficient stock for product with id: " + productId + " (delta " + delta + ")");
+        }
+
+        product.get().setQuantity(Math.toIntExact(quantity));
+        return product;
+    }
+
+    /**
+     * Locks the product row until the end of the current transaction and reads its quantity.
+     * A flush cannot write the row while it is locked.
+     *
+     * @return the stored quantity, empty if the product does not exist
+     */
+    public Optional<Integer> lockStoredQuantity(Long productId) {
+        return jdbcTemplate.queryForList(LOCK_QUANTITY_SQL, Integer.class, productId).stream().findFirst();
+    }
+
+    /**
+     * Sets the quantity of a product to an absolute value by buffering the difference to its
+     * current quantity, so the deltas already buffered are not added on top of it.
+     *
+     * @param productId       the id of the product
+     * @param storedQuantity  the quantity of the row, as read by {@link #lockStoredQuantity(Long)}
+     *                        in the current transaction
+     * @param quantity        the new quantity
+     */
+    public void replaceQuantity(Long productId, int storedQuantity, int quantity) {
+        BufferedStock buffered = buffers.computeIfAbsent(productId, id -> new BufferedStock(storedQuantity));
+        while (!buffered.replace(quantity)) {
+            buffers.remove(productId, buffered);
+            buffered = buffers.computeIfAbsent(productId, id -> new BufferedStock(storedQuantity));
+        }
+    }
+
+    /**
+     * Sets the buffered quantity of the product on the DTO, if the product has a buffer.
+     *
+     * @return the same DTO, for use in {@code map(...)}
+     */
+    public ProductReadOnlyDTO merge(ProductReadOnlyDTO product) {
+        if (product != null && product.getQuantity() != null && !buffers.isEmpty()) {
+            BufferedStock buffered = buffers.get(product.getId());
+            long quantity = buffered != null ? buffered.quantity() : BufferedStock.RETIRED;
+            if (quantity != BufferedStock.RETIRED) {
+                product.setQuantity(Math.toIntExact(quantity));
+            }
+        }
+        return product;
+    }
+
+    @Scheduled(fixedDelayString = "${application.inventory.stock-write-behind.flush-interval:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushBuffers();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushBuffers() {
+        if (buffers.isEmpty()) {
+            return;
+        }
+
+        // Ταξινόμηση κατά id για σταθερή σειρά κλειδωμάτων με τους υπόλοιπους writers
+        Map<Long, BufferedStock> flushing = new TreeMap<>();
+        Map<Long, Long> deltas = new TreeMap<>();
+        buffers.forEach((productId, buffered) -> {
+            long delta = buffered.startFlush();
+            if (delta != 0) {
+                flushing.put(productId, buffered);
+                deltas.put(productId, delta);
+            }
+        });
+
+        if (!deltas.isEmpty()) {
+            Set<Long> rejected;
+            try {
+                rejected = transactionTemplate.execute(status -> writeDeltas(deltas));
+            } catch (RuntimeException e) {
+                // Τα deltas επιστρέφουν στο buffer για την επόμενη προσπάθεια
+                flushing.values().forEach(buffered -> buffered.endFlush(false));
+                LOGGER.error("Flushing stock deltas of {} products failed, will retry", deltas.size(), e);
+                return;
+            }
+
+            flushing.forEach((productId, buffered) -> {
+                if (rejected != null && rejected.contains(productId)) {
+                    // Η γραμμή άλλαξε εκτός buffer ή διαγράφηκε, το buffer δεν αντιστοιχεί πια στη βάση
+                    long dropped = buffered.retire();
+                    buffers.remove(productId, buffered);
+                    LOGGER.error("Dropped stock delta {} of product {}: insufficient stock or missing product",
+                            dropped, productId);
+                } else {
+                    buffered.endFlush(true);
+                }
+            });
+            LOGGER.debug("Flushed stock deltas of {} products", deltas.size());
+        }
+
+        // Τα buffers χωρίς εκκρεμή deltas αφαιρούνται, η επόμενη κράτηση ξαναδιαβάζει τη γραμμή
+        buffers.forEach((productId, buffered) -> {
+            if (buffered.retireIfIdle()) {
+                buffers.remove(productId, buffered);
+            }
+        });
+    }
+
+    private Set<Long> writeDeltas(Map<Long, Long> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> productIds = new ArrayList<>(deltas.keySet());
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> batch.add(new Object[]{delta, now, productId, delta}));
+
+        int[] counts = jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        Set<Long> rejected = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                rejected.add(productIds.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * The quantity of one product while it is buffered: {@code stored} is the committed row,
+     * {@code pending} waits for the next flush and {@code inFlight} is being written by the
+     * running flush and moves to {@code stored} when it commits. A retired buffer has been
+     * removed from the map and accepts no more deltas.
+     */
+    private static final class BufferedStock {
+
+        static final long RETIRED = Long.MIN_VALUE;
+
+        private long stored;
+        private long pending;
+        private long inFlight;
+        private boolean retired;
+
+        BufferedStock(long stored) {
+            this.stored = stored;
+        }
+
+        synchronized long reserve(long delta) {
+            if (retired) {
+                return RETIRED;
+            }
+            long quantity = stored + pending + inFlight + delta;
+            if (quantity >= 0) {
+                pending += delta;
+            }
+            return quantity;
+        }
+
+        synchronized boolean replace(long quantity) {
+            if (retired) {
+                return false;
+            }
+            pending += quantity - (stored + pending + inFlight);
+            return true;
+        }
+
+        synchronized long quantity() {
+            return retired ? RETIRED : stored + pending + inFlight;
+        }
+
+        synchronized long startFlush() {
+            inFlight = pending;
+            pending = 0;
+            return inFlight;
+        }
+
+        synchronized void endFlush(boolean committed) {
+            // Σε commit τα deltas είναι πλέον στη γραμμή, σε rollback επιστρέφουν στα pending
+            if (committed) {
+                stored += inFlight;
+            } else {
+                pending += inFlight;
+            }
+            inFlight = 0;
+        }
+
+        synchronized boolean retireIfIdle() {
+            if (pending == 0 && inFlight == 0) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        synchronized long retire() {
+            retired = true;
+            return pending + inFlight;
+        }
+    }
+}
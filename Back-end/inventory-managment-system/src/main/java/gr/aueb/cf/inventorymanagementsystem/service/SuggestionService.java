@@ -0,0 +1,160 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import gr.aueb.cf.inventorymanagementsystem.core.enums.SuggestionType;
+import gr.aueb.cf.inventorymanagementsystem.core.suggest.NamePrefixIndex;
+import gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO;
+import gr.aueb.cf.inventorymanagementsystem.repository.CategoryRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.ProductRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.SupplierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Autocomplete of product, supplier and category names from in-memory prefix indexes.
+ *
+ * <p>The indexes are loaded from the repositories when the application is ready and are kept
+ * current by the save, update and delete methods of the services. Changes made inside a
+ * transaction are applied after it commits, so a rollback never leaves a name behind. Names
+ * written outside this instance (another node, direct SQL) appear after the next restart.</p>
+ *
+ * <p>A load builds new indexes next to the ones in use. The changes committed while it reads
+ * the rows may be missing from what it read, so they are recorded and replayed on the new
+ * indexes before these replace the old ones in one step.</p>
+ */
+@Service
+public class SuggestionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SuggestionService.class);
+
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final CategoryRepository categoryRepository;
+    // Οι αλλαγές εφαρμόζονται και καταγράφονται υπό το lock, ώστε καμία να μη χαθεί στην αντικατάσταση
+    private final Object changeLock = new Object();
+    private volatile Map<SuggestionType, NamePrefixIndex> indexes = newIndexes();
+    // Οι αλλαγές από την αρχή του load, null όταν δεν τρέχει load
+    private List<Consumer<Map<SuggestionType, NamePrefixIndex>>> changesDuringLoad;
+
+    @Value("${application.suggest.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${application.suggest.max-limit:50}")
+    private int maxLimit;
+
+    public SuggestionService(ProductRepository productRepository, SupplierRepository supplierRepository,
+                             CategoryRepository categoryRepository) {
+        this.productRepository = productRepository;
+        this.supplierRepository = supplierRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        // Η καταγραφή ξεκινά πριν την πρώτη ανάγνωση, άρα πριν το snapshot της συναλλαγής
+        synchronized (changeLock) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        try {
+            Map<SuggestionType, NamePrefixIndex> loaded = newIndexes();
+            load(loaded.get(SuggestionType.PRODUCT), SuggestionType.PRODUCT, productRepository.streamSuggestions());
+            load(loaded.get(SuggestionType.SUPPLIER), SuggestionType.SUPPLIER, supplierRepository.streamSuggestions());
+            load(loaded.get(SuggestionType.CATEGORY), SuggestionType.CATEGORY, categoryRepository.streamSuggestions());
+
+            synchronized (changeLock) {
+                changesDuringLoad.forEach(change -> change.accept(loaded));
+                indexes = loaded;
+            }
+        } finally {
+            synchronized (changeLock) {
+                changesDuringLoad = null;
+            }
+        }
+    }
+
+    private void load(NamePrefixIndex index, SuggestionType type, Stream<SuggestionDTO> rows) {
+        try (rows) {
+            rows.forEach(row -> index.put(row.getId(), row.getName()));
+        }
+        LOGGER.info("Loaded {} {} names for suggestions", index.size(), type);
+    }
+
+    public void put(SuggestionType type, Long id, String name) {
+        afterCommit(() -> apply(current -> current.get(type).put(id, name)));
+    }
+
+    public void remove(SuggestionType type, Long id) {
+        afterCommit(() -> apply(current -> current.get(type).remove(id)));
+    }
+
+    /**
+     * Returns the names that start with the prefix, in name order.
+     *
+     * @param prefix the typed text, matched case insensitively
+     * @param types  the kinds of names to search, {@code null} or empty for all
+     * @param limit  the maximum number of suggestions, {@code null} for the default
+     */
+    public List<SuggestionDTO> suggest(String prefix, Collection<SuggestionType> types, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int size = (limit != null && limit > 0) ? Math.min(limit, maxLimit) : defaultLimit;
+        Map<SuggestionType, NamePrefixIndex> current = indexes;
+        Collection<SuggestionType> searched = (types == null || types.isEmpty()) ? current.keySet() : types;
+
+        // Τα top-k κάθε index, συγχωνευμένα και ταξινομημένα κατά όνομα
+        List<SuggestionDTO> suggestions = new ArrayList<>();
+        for (SuggestionType type : searched) {
+            current.get(type).findByPrefix(prefix, size)
+                    .forEach(entry -> suggestions.add(new SuggestionDTO(type, entry.id(), entry.name())));
+        }
+        suggestions.sort(Comparator.comparing(SuggestionDTO::getName, String.CASE_INSENSITIVE_ORDER));
+        return suggestions.size() > size ? suggestions.subList(0, size) : suggestions;
+    }
+
+    private void apply(Consumer<Map<SuggestionType, NamePrefixIndex>> change) {
+        synchronized (changeLock) {
+            change.accept(indexes);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+        }
+    }
+
+    private static Map<SuggestionType, NamePrefixIndex> newIndexes() {
+        Map<SuggestionType, NamePrefixIndex> created = new EnumMap<>(SuggestionType.class);
+        for (SuggestionType type : SuggestionType.values()) {
+            created.put(type, new NamePrefixIndex());
+        }
+        return created;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -1,9 +1,13 @@
 package gr.aueb.cf.inventorymanagementsystem.service;
 
+import gr.aueb.cf.inventorymanagementsystem.core.CacheNames;
+import gr.aueb.cf.inventorymanagementsystem.core.MetricsConfiguration;
+import gr.aueb.cf.inventorymanagementsystem.core.enums.SuggestionType;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppGenericException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectAlreadyExists;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppServerException;
+import gr.aueb.cf.inventorymanagementsystem.core.export.NdjsonStreamWriter;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.Paginated;
 import gr.aueb.cf.inventorymanagementsystem.core.filters.SupplierFilters;
 import gr.aueb.cf.inventorymanagementsystem.core.specifications.SupplierSpecification;
@@ -11,10 +15,13 @@ import gr.aueb.cf.inventorymanagementsystem.dto.*;
 import gr.aueb.cf.inventorymanagementsystem.mapper.Mapper;
 import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
 import gr.aueb.cf.inventorymanagementsystem.repository.SupplierRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,39 +30,48 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class SupplierService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SupplierService.class);
     private final SupplierRepository supplierRepository;
     private final Mapper mapper;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final SuggestionService suggestionService;
 
+    @CacheEvict(cacheNames = {CacheNames.SUPPLIERS_BY_NAME, CacheNames.SUPPLIERS_BY_PHONE_NUMBER, CacheNames.ALL_SUPPLIERS}, allEntries = true)
     @Transactional
     public SupplierReadOnlyDTO saveSupplier(SupplierInsertDTO supplierInsertDTO)
             throws AppObjectAlreadyExists, AppObjectNotFoundException {
 
-        if (supplierRepository.findByName(supplierInsertDTO.getName()).isPresent()){
+        if (supplierRepository.findIdByName(supplierInsertDTO.getName()).isPresent()){
             throw new AppObjectAlreadyExists("Supplier", "Supplier with name " + supplierInsertDTO.getName() + " already exists.");
         }
         //Check if product name already exists
         if (supplierRepository.findByEmail(supplierInsertDTO.getEmail()).isPresent()) {
             throw new AppObjectAlreadyExists("Supplier", "Supplier with email " + supplierInsertDTO.getEmail() + " already exists.");
         }
-        if (supplierRepository.findByPhoneNumber(supplierInsertDTO.getPhoneNumber()).isPresent()){
+        if (supplierRepository.findIdByPhoneNumber(supplierInsertDTO.getPhoneNumber()).isPresent()){
             throw new AppObjectAlreadyExists("Supplier", "Supplier with phone number " + supplierInsertDTO.getPhoneNumber() + " already exists.");
         }
 
         Supplier supplier = mapper.mapToSupplierEntity(supplierInsertDTO);
 
         Supplier savedSupplier = supplierRepository.save(supplier);
+        suggestionService.put(SuggestionType.SUPPLIER, savedSupplier.getId(), savedSupplier.getName());
 
         // Return a SupplierReadOnlyDTO after saving
         return mapper.mapToSupplierReadOnlyDTO(savedSupplier);
     }
 
+    @CacheEvict(cacheNames = {CacheNames.SUPPLIERS_BY_NAME, CacheNames.SUPPLIERS_BY_PHONE_NUMBER, CacheNames.ALL_SUPPLIERS}, allEntries = true)
     @Transactional
     public SupplierReadOnlyDTO updateSupplier(SupplierUpdateDTO supplierUpdateDTO)
             throws AppObjectNotFoundException, AppServerException {
@@ -72,12 +88,14 @@ public class SupplierService {
 
         // Αποθήκευση της ενημερωμένης παραγγελίας
         Supplier updatedSupplier = supplierRepository.save(existingSupplier);
+        suggestionService.put(SuggestionType.SUPPLIER, updatedSupplier.getId(), updatedSupplier.getName());
 
         // Επιστροφή του ενημερωμένου Order ως DTO
         return mapper.mapToSupplierReadOnlyDTO(updatedSupplier);
 
     }
 
+    @CacheEvict(cacheNames = {CacheNames.SUPPLIERS_BY_NAME, CacheNames.SUPPLIERS_BY_PHONE_NUMBER, CacheNames.ALL_SUPPLIERS}, allEntries = true)
     @Transactional
     public SupplierReadOnlyDTO deleteSupplier(Long supplierId) throws AppGenericException {
         // Εύρεση της παραγγελίας
@@ -91,6 +109,7 @@ public class SupplierService {
         } catch (Exception ex) {
             throw new AppGenericException("Supplier", "An unexpected error occurred while deleting the supplier.");
         }
+        suggestionService.remove(SuggestionType.SUPPLIER, supplierId);
 
         // Επιστροφή δεδομένων
         return mapper.mapToSupplierReadOnlyDTO(supplier);
@@ -104,11 +123,18 @@ public class SupplierService {
         return mapper.mapToSupplierReadOnlyDTO(supplier);
     }
 
+    @Cacheable(cacheNames = CacheNames.ALL_SUPPLIERS, key = "'all'")
     @Transactional
     public List<SupplierReadOnlyDTO> getAllSuppliers() {
-        return supplierRepository.findAll().stream()
-                .map(mapper::mapToSupplierReadOnlyDTO)
-                .toList();
+        return supplierRepository.findAllProjected();
+    }
+
+    /** Streams all suppliers as NDJSON through {@link NdjsonStreamWriter}. */
+    @Transactional(readOnly = true)
+    public long exportSuppliers(OutputStream outputStream) throws IOException {
+        try (Stream<SupplierReadOnlyDTO> suppliers = supplierRepository.streamAllProjected()) {
+            return ndjsonStreamWriter.write(suppliers, outputStream);
+        }
     }
 
     @Transactional
@@ -1,19 +1,24 @@
 package gr.aueb.cf.inventorymanagementsystem.service;
 
+import gr.aueb.cf.inventorymanagementsystem.core.CacheNames;
+import gr.aueb.cf.inventorymanagementsystem.core.MetricsConfiguration;
 import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectAlreadyExists;
 import gr.aueb.cf.inventorymanagementsystem.dto.UserInsertDTO;
 import gr.aueb.cf.inventorymanagementsystem.dto.UserReadOnlyDTO;
 import gr.aueb.cf.inventorymanagementsystem.mapper.Mapper;
 import gr.aueb.cf.inventorymanagementsystem.model.User;
 import gr.aueb.cf.inventorymanagementsystem.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class UserService {
 
@@ -31,6 +36,7 @@ public class UserService {
      * @return a {@link UserReadOnlyDTO} representing the saved user
      * @throws AppObjectAlreadyExists if a user with the given username already exists
      */
+    @CacheEvict(cacheNames = CacheNames.USERS_BY_USERNAME, key = "#p0.username")
     @Transactional
     public UserReadOnlyDTO saveUser(UserInsertDTO userInsertDTO) throws AppObjectAlreadyExists {
 
@@ -0,0 +1,77 @@
+-- Baseline: the schema of the last release before the Flyway migrations, as created by
+-- hibernate ddl-auto=update. Existing databases of that release are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and skip this script; V2 onwards bring both to the
+-- current schema.
+
+CREATE TABLE categories (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6),
+    name       VARCHAR(255),
+    PRIMARY KEY (id),
+    INDEX idx_name (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE suppliers (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at   DATETIME(6)  NOT NULL,
+    updated_at   DATETIME(6),
+    name         VARCHAR(255),
+    email        VARCHAR(255),
+    phone_number VARCHAR(255),
+    PRIMARY KEY (id),
+    INDEX idx_supplier (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE products (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6),
+    name        VARCHAR(255),
+    description VARCHAR(255),
+    price       DOUBLE,
+    quantity    INT,
+    supplier_id BIGINT,
+    category_id BIGINT,
+    PRIMARY KEY (id),
+    INDEX idx_product_name (name),
+    CONSTRAINT fk_products_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id),
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE orders (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    created_at  DATETIME(6) NOT NULL,
+    updated_at  DATETIME(6),
+    order_date  DATE,
+    supplier_id BIGINT,
+    PRIMARY KEY (id),
+    INDEX idx_order (supplier_id),
+    CONSTRAINT fk_orders_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE order_items (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    quantity   INT,
+    order_id   BIGINT,
+    product_id BIGINT,
+    PRIMARY KEY (id),
+    INDEX idx_order_product (order_id, product_id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6),
+    username   VARCHAR(255),
+    password   VARCHAR(255),
+    firstname  VARCHAR(255) NOT NULL,
+    lastname   VARCHAR(255) NOT NULL,
+    role       ENUM ('USER', 'ADMIN'),
+    PRIMARY KEY (id),
+    INDEX idx_username (username)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
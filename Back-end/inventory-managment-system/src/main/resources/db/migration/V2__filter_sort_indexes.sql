@@ -0,0 +1,27 @@
+-- Composite indexes for the filter + sort combinations of the list endpoints.
+-- InnoDB appends the primary key to every secondary index, so each index also serves the
+-- (sortBy, id) order of the keyset pagination. ALGORITHM=INPLACE, LOCK=NONE keeps the tables
+-- readable and writable while the indexes are built; the statement fails instead of locking
+-- if the server cannot build them online.
+
+-- Orders: sorted by order_date, optionally filtered by supplier.
+-- idx_orders_supplier_order_date also serves the supplier foreign key, so idx_order is dropped.
+ALTER TABLE orders
+    ADD INDEX idx_orders_order_date (order_date),
+    ADD INDEX idx_orders_supplier_order_date (supplier_id, order_date),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE orders
+    DROP INDEX idx_order,
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Products: filtered by supplier or category (joined by name) and sorted by name
+ALTER TABLE products
+    ADD INDEX idx_products_supplier_name (supplier_id, name),
+    ADD INDEX idx_products_category_name (category_id, name),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Order items by product: product delete and the order summary
+ALTER TABLE order_items
+    ADD INDEX idx_order_items_product_order (product_id, order_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,11 @@
+-- FULLTEXT indexes of the product search (ProductRepository.searchIds), with the ngram parser.
+-- The first FULLTEXT index of a table rebuilds it and cannot be built with LOCK=NONE;
+-- LOCK=SHARED keeps the table readable while it is built. Run during low write traffic.
+
+ALTER TABLE products
+    ADD FULLTEXT INDEX ft_products_name (name) WITH PARSER ngram,
+    ALGORITHM = INPLACE, LOCK = SHARED;
+
+ALTER TABLE products
+    ADD FULLTEXT INDEX ft_products_name_description (name, description) WITH PARSER ngram,
+    ALGORITHM = INPLACE, LOCK = SHARED;
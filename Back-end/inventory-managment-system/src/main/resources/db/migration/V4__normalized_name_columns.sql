@@ -0,0 +1,23 @@
+-- Case folded copies of the names (NameNormalizer), so the name filters are index range scans.
+-- The columns are added instantly, filled for the existing rows and then indexed online;
+-- the entities keep them in sync for every later write.
+
+ALTER TABLE products ADD COLUMN name_normalized VARCHAR(255), ALGORITHM = INSTANT;
+ALTER TABLE categories ADD COLUMN name_normalized VARCHAR(255), ALGORITHM = INSTANT;
+ALTER TABLE suppliers ADD COLUMN name_normalized VARCHAR(255), ALGORITHM = INSTANT;
+
+UPDATE products SET name_normalized = UPPER(name) WHERE name IS NOT NULL;
+UPDATE categories SET name_normalized = UPPER(name) WHERE name IS NOT NULL;
+UPDATE suppliers SET name_normalized = UPPER(name) WHERE name IS NOT NULL;
+
+ALTER TABLE products
+    ADD INDEX idx_product_name_normalized (name_normalized),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE categories
+    ADD INDEX idx_category_name_normalized (name_normalized),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE suppliers
+    ADD INDEX idx_supplier_name_normalized (name_normalized),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,19 @@
+-- Table based sequences of the pooled generators of products, orders and order_items
+-- (MySQL has no sequences, allocationSize 50), which replace the AUTO_INCREMENT ids.
+-- Each one starts past MAX(id) plus one allocation, so new ids never collide with existing rows.
+-- The AUTO_INCREMENT attribute stays on the id columns; Hibernate always inserts the id.
+
+CREATE TABLE products_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO products_seq SELECT COALESCE(MAX(id), 0) + 51 FROM products;
+
+CREATE TABLE orders_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO orders_seq SELECT COALESCE(MAX(id), 0) + 51 FROM orders;
+
+CREATE TABLE order_items_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO order_items_seq SELECT COALESCE(MAX(id), 0) + 51 FROM order_items;
@@ -0,0 +1,17 @@
+-- Units ordered per product and day (ProductDailyOrderSummary), filled from the existing orders.
+-- No foreign key to products, see ProductDailyOrderSummary.
+
+CREATE TABLE product_daily_order_summary (
+    product_id  BIGINT NOT NULL,
+    `day`       DATE   NOT NULL,
+    ordered_qty BIGINT NOT NULL,
+    PRIMARY KEY (product_id, `day`),
+    INDEX idx_summary_day (`day`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+INSERT INTO product_daily_order_summary (product_id, `day`, ordered_qty)
+SELECT oi.product_id, o.order_date, SUM(oi.quantity)
+FROM order_items oi
+         JOIN orders o ON o.id = oi.order_id
+WHERE oi.product_id IS NOT NULL AND o.order_date IS NOT NULL
+GROUP BY oi.product_id, o.order_date;
@@ -0,0 +1,119 @@
+package gr.aueb.cf.inventorymanagementsystem.core.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductImportReaderTest {
+
+    private static final String HEADER = "name,description,price,quantity,supplierName,categoryName\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csvQuotedFieldsKeepCommasAndQuotes() throws Exception {
+        try (ProductImportReader reader = csv(HEADER
+                + "\"Bolt, M8\",\"The \"\"best\"\" bolt\",1.5,100,Acme,Hardware\n")) {
+            ProductImportRow row = reader.next();
+
+            assertEquals("Bolt, M8", row.getName());
+            assertEquals("The \"best\" bolt", row.getDescription());
+            assertEquals(1.5, row.getPrice());
+            assertEquals(100, row.getQuantity());
+            assertEquals("Acme", row.getSupplierName());
+            assertEquals("Hardware", row.getCategoryName());
+            assertEquals(2, row.getLineNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void csvQuotedFieldMaySpanLines() throws Exception {
+        try (ProductImportReader reader = csv(HEADER
+                + "Bolt,\"First line\nSecond line\",1.5,100,Acme,Hardware\n"
+                + "Nut,Plain,0.5,200,Acme,Hardware\n")) {
+            ProductImportRow first = reader.next();
+            ProductImportRow second = reader.next();
+
+            assertEquals("First line\nSecond line", first.getDescription());
+            assertEquals(2, first.getLineNumber());
+            assertEquals("Nut", second.getName());
+            assertEquals(4, second.getLineNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void csvColumnsAreMatchedByHeaderName() throws Exception {
+        try (ProductImportReader reader = csv("categoryName,quantity,name,supplierName,price\n"
+                + "Hardware,100,Bolt,Acme,1.5\n")) {
+            ProductImportRow row = reader.next();
+
+            assertEquals("Bolt", row.getName());
+            assertNull(row.getDescription());
+            assertEquals(1.5, row.getPrice());
+            assertEquals(100, row.getQuantity());
+            assertEquals("Acme", row.getSupplierName());
+            assertEquals("Hardware", row.getCategoryName());
+        }
+    }
+
+    @Test
+    void csvRowWithInvalidValueIsReportedAndReadingContinues() throws Exception {
+        try (ProductImportReader reader = csv(HEADER
+                + "Bolt,Plain,cheap,100,Acme,Hardware\n"
+                + "\n"
+                + "Nut,Plain,0.5,200,Acme,Hardware\n")) {
+            assertThrows(AppObjectInvalidArgumentException.class, reader::next);
+            assertEquals(2, reader.getLineNumber());
+
+            ProductImportRow next = reader.next();
+            assertEquals("Nut", next.getName());
+            assertEquals(4, next.getLineNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void csvUnclosedQuoteEndsTheInput() throws Exception {
+        try (ProductImportReader reader = csv(HEADER
+                + "Bolt,\"Never closed,1.5,100,Acme,Hardware\n"
+                + "Nut,Plain,0.5,200,Acme,Hardware\n")) {
+            assertThrows(AppObjectInvalidArgumentException.class, reader::next);
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void ndjsonInvalidLineIsReportedAndReadingContinues() throws Exception {
+        try (ProductImportReader reader = new ProductImportReader(objectMapper, input(
+                "{\"name\":\"Bolt\",\"price\":1.5}\n"
+                        + "{\"name\":\n"
+                        + "{\"name\":\"Nut\",\"quantity\":200}\n"), ImportFormat.NDJSON)) {
+            assertEquals("Bolt", reader.next().getName());
+            assertThrows(AppObjectInvalidArgumentException.class, reader::next);
+            assertEquals(2, reader.getLineNumber());
+
+            ProductImportRow row = reader.next();
+            assertEquals("Nut", row.getName());
+            assertEquals(3, row.getLineNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    private ProductImportReader csv(String content) {
+        return new ProductImportReader(objectMapper, input(content), ImportFormat.CSV);
+    }
+
+    private ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
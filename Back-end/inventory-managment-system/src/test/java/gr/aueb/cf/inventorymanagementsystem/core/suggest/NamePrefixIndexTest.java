@@ -0,0 +1,76 @@
+package gr.aueb.cf.inventorymanagementsystem.core.suggest;
+
+import gr.aueb.cf.inventorymanagementsystem.core.suggest.NamePrefixIndex.Entry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NamePrefixIndexTest {
+
+    private final NamePrefixIndex index = new NamePrefixIndex();
+
+    @Test
+    void findsOnlyThePrefixRangeInNameOrder() {
+        index.put(1L, "Bolt M8");
+        index.put(2L, "bolt M6");
+        index.put(3L, "Bolster");
+        index.put(4L, "Nut");
+        index.put(5L, "Bol");
+
+        assertEquals(List.of(new Entry(5L, "Bol"), new Entry(3L, "Bolster"), new Entry(2L, "bolt M6"),
+                new Entry(1L, "Bolt M8")), index.findByPrefix("bol", 10));
+        assertEquals(List.of(new Entry(2L, "bolt M6"), new Entry(1L, "Bolt M8")), index.findByPrefix("BOLT", 10));
+        assertTrue(index.findByPrefix("Washer", 10).isEmpty());
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        for (long id = 1; id <= 20; id++) {
+            index.put(id, "Screw " + (char) ('A' + id));
+        }
+
+        assertEquals(List.of(new Entry(1L, "Screw B"), new Entry(2L, "Screw C"), new Entry(3L, "Screw D")),
+                index.findByPrefix("screw", 3));
+    }
+
+    @Test
+    void keepsEqualNamesWithDifferentIds() {
+        index.put(2L, "Nut");
+        index.put(1L, "NUT");
+
+        assertEquals(List.of(new Entry(1L, "NUT"), new Entry(2L, "Nut")), index.findByPrefix("n", 10));
+    }
+
+    @Test
+    void renameDropsTheOldName() {
+        index.put(1L, "Bolt");
+        index.put(1L, "Washer");
+
+        assertTrue(index.findByPrefix("bolt", 10).isEmpty());
+        assertEquals(List.of(new Entry(1L, "Washer")), index.findByPrefix("wash", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void renameChangingOnlyTheCaseKeepsOneEntry() {
+        index.put(1L, "bolt");
+        index.put(1L, "Bolt");
+
+        assertEquals(List.of(new Entry(1L, "Bolt")), index.findByPrefix("bolt", 10));
+    }
+
+    @Test
+    void removeDropsTheName() {
+        index.put(1L, "Bolt");
+        index.put(2L, "Bolt");
+
+        index.remove(1L);
+        index.remove(3L);
+
+        assertEquals(List.of(new Entry(2L, "Bolt")), index.findByPrefix("bolt", 10));
+        assertEquals(1, index.size());
+    }
+}
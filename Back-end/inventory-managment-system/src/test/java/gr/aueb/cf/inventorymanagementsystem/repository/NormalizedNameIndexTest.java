@@ -0,0 +1,260 @@
+package gr.aueb.cf.inventorymanagementsystem.repository;
+
+import gr.aueb.cf.inventorymanagementsystem.core.NameNormalizer;
+import gr.aueb.cf.inventorymanagementsystem.core.specifications.CategorySpecification;
+import gr.aueb.cf.inventorymanagementsystem.core.specifications.OrderSpecification;
+import gr.aueb.cf.inventorymanagementsystem.core.specifications.ProductSpecification;
+import gr.aueb.cf.inventorymanagementsystem.core.specifications.SupplierSpecification;
+import gr.aueb.cf.inventorymanagementsystem.model.Category;
+import gr.aueb.cf.inventorymanagementsystem.model.Order;
+import gr.aueb.cf.inventorymanagementsystem.model.Product;
+import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every name filter against MySQL, captures the SQL that Hibernate sends together with its
+ * bind parameters and checks with EXPLAIN that the plan reads the {@code name_normalized} index
+ * instead of scanning the table. The schema is created by the Flyway migrations.
+ *
+ * <p>Needs Docker; run with {@code ./gradlew mysqlTest}.</p>
+ */
+@Tag("mysql")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NormalizedNameIndexTest {
+
+    private static final int ROWS = 1000;
+
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    static {
+        // Started before the Spring context, which is created with the PER_CLASS test instance
+        MYSQL.start();
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertRows() {
+        List<Supplier> suppliers = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            suppliers.add(new Supplier(null, "Supplier " + i, "supplier" + i + "@mail.com", "210000" + i));
+            categories.add(new Category(null, "Category " + i));
+        }
+        supplierRepository.saveAll(suppliers);
+        categoryRepository.saveAll(categories);
+
+        List<Product> products = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Product(null, "Product " + i, "Description", 10.0, 100,
+                    suppliers.get(i), categories.get(i), null));
+
+            Order order = new Order();
+            order.setSupplier(suppliers.get(i));
+            order.setOrderDate(LocalDate.now());
+            orders.add(order);
+        }
+        productRepository.saveAll(products);
+        orderRepository.saveAll(orders);
+
+        // Committed rows, so the statistics reflect them
+        jdbcTemplate.execute("ANALYZE TABLE products, suppliers, categories, orders");
+    }
+
+    @Test
+    void productNameFilterUsesIndex() {
+        CapturingDataSource.STATEMENTS.clear();
+        productRepository.findAll(ProductSpecification.trStringFieldLike("name", "product 199"));
+
+        assertPlanUsesIndex("idx_product_name_normalized");
+    }
+
+    @Test
+    void productProjectionNameFilterUsesIndex() {
+        // The query behind /api/products/all
+        CapturingDataSource.STATEMENTS.clear();
+        productRepository.findAllProjectedByNameStartingWith(NameNormalizer.prefixPattern("product 199"),
+                PageRequest.of(0, 20));
+
+        assertPlanUsesIndex("idx_product_name_normalized");
+    }
+
+    @Test
+    void productSupplierFilterUsesIndex() {
+        CapturingDataSource.STATEMENTS.clear();
+        productRepository.findAll(ProductSpecification.trSupplierNameIs("supplier 199"));
+
+        assertPlanUsesIndex("idx_supplier_name_normalized");
+    }
+
+    @Test
+    void productCategoryFilterUsesIndex() {
+        CapturingDataSource.STATEMENTS.clear();
+        productRepository.findAll(ProductSpecification.trCategoryNameIs("category 199"));
+
+        assertPlanUsesIndex("idx_category_name_normalized");
+    }
+
+    @Test
+    void categoryNameFilterUsesIndex() {
+        CapturingDataSource.STATEMENTS.clear();
+        categoryRepository.findAll(CategorySpecification.trStringFieldLike("name", "category 199"));
+
+        assertPlanUsesIndex("idx_category_name_normalized");
+    }
+
+    @Test
+    void supplierNameFilterUsesIndex() {
+        CapturingDataSource.STATEMENTS.clear();
+        supplierRepository.findAll(SupplierSpecification.trStringFieldLike("name", "supplier 199"));
+
+        assertPlanUsesIndex("idx_supplier_name_normalized");
+    }
+
+    @Test
+    void orderSupplierFilterUsesIndex() {
+        CapturingDataSource.STATEMENTS.clear();
+        orderRepository.findAll(OrderSpecification.trSupplierNameIs("supplier 199"));
+
+        assertPlanUsesIndex("idx_supplier_name_normalized");
+    }
+
+    /**
+     * EXPLAINs the captured filter query with the same parameters Hibernate bound to it.
+     */
+    private void assertPlanUsesIndex(String indexName) {
+        ExecutedStatement statement = CapturingDataSource.STATEMENTS.stream()
+                .filter(executed -> executed.sql().contains("name_normalized"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No filter query was captured"));
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                statement.parameters().values().toArray());
+
+        assertTrue(plan.stream().anyMatch(row -> indexName.equals(row.get("key"))),
+                "Expected " + indexName + " in the plan of: " + statement + "\n" + plan);
+    }
+
+    record ExecutedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class CapturingDataSourceConfiguration {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? CapturingDataSource.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * JDK proxies around the DataSource that record every prepared statement with the values
+     * bound to it, in parameter order.
+     */
+    static final class CapturingDataSource {
+
+        static final List<ExecutedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        private CapturingDataSource() {
+
+        }
+
+        static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? wrapConnection(connection) : result);
+        }
+
+        private static Connection wrapConnection(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                            ? wrapStatement(statement, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer index) {
+                            parameters.put(index, method.getName().equals("setNull") ? null : args[1]);
+                        } else if (method.getName().startsWith("execute")) {
+                            STATEMENTS.add(new ExecutedStatement(sql, new TreeMap<>(parameters)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+            return (T) Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> wrapper.wrap(method, args, invoke(target, method, args)));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @FunctionalInterface
+        private interface ResultWrapper {
+            Object wrap(Method method, Object[] args, Object result);
+        }
+    }
+}
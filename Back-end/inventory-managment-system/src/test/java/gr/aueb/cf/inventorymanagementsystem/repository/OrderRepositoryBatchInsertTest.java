@@ -0,0 +1,69 @@
+package gr.aueb.cf.inventorymanagementsystem.repository;
+
+import gr.aueb.cf.inventorymanagementsystem.model.Category;
+import gr.aueb.cf.inventorymanagementsystem.model.Order;
+import gr.aueb.cf.inventorymanagementsystem.model.Product;
+import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The MySQL migrations do not run on H2, Hibernate creates the test schema
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class OrderRepositoryBatchInsertTest {
+
+    private static final int ORDER_ITEMS = 40;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void saveOrderIssuesBatchedInserts() {
+        Supplier supplier = new Supplier(null, "Supplier", "supplier@mail.com", "2100000000");
+        Category category = new Category(null, "Category");
+        Product product = new Product(null, "Product", "Description", 10.0, 100, supplier, category, null);
+        entityManager.persist(supplier);
+        entityManager.persist(category);
+        entityManager.persist(product);
+        entityManager.flush();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        Order order = new Order();
+        order.setSupplier(supplier);
+        order.setOrderDate(LocalDate.now());
+        for (int i = 0; i < ORDER_ITEMS; i++) {
+            order.addOrderItem(product, 1);
+        }
+
+        orderRepository.save(order);
+        entityManager.flush();
+
+        // 1 order + ORDER_ITEMS order items
+        assertEquals(ORDER_ITEMS + 1, statistics.getEntityInsertCount());
+
+        // One batched INSERT per table plus at most two sequence reads per generator,
+        // independent of the number of order items
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 6,
+                "Expected at most 6 statements per order save but was " + statements);
+    }
+}
@@ -0,0 +1,175 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import gr.aueb.cf.inventorymanagementsystem.core.enums.OrderIngestionStatus;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppTooManyRequestsException;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderIngestionStatusDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderInsertDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderItemInsertDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderReadOnlyDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductInsertDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.SupplierInsertDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The queue, the batch fallback and the shutdown drain of the order ingestion, with a mocked
+ * {@link OrderService}. The first transaction of the worker waits on a gate, so the orders
+ * submitted meanwhile are drained as one batch.
+ */
+class OrderIngestionServiceTest {
+
+    private static final String UNKNOWN_PRODUCT = "Unknown product";
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<TransactionStatus> transactions = new ArrayList<>();
+    private final AtomicLong orderIds = new AtomicLong();
+    private final AtomicBoolean firstTransaction = new AtomicBoolean(true);
+    private final CountDownLatch waiting = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private OrderIngestionService service;
+
+    @AfterEach
+    void stopService() throws InterruptedException {
+        gate.countDown();
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void fullQueueAnswersTooManyRequests() throws Exception {
+        service = newService(2, 0);
+
+        service.submit(order("Bolt"));
+        service.submit(order("Nut"));
+
+        assertThrows(AppTooManyRequestsException.class, () -> service.submit(order("Screw")));
+        assertEquals(2, service.getQueueSize());
+    }
+
+    @Test
+    void batchWithOneFailingOrderSavesTheOthers() throws Exception {
+        service = newService(10, 1);
+        String warmUp = service.submit(order("Warm up")).getTrackingId();
+        assertTrue(waiting.await(10, TimeUnit.SECONDS));
+
+        String first = service.submit(order("Bolt")).getTrackingId();
+        String failing = service.submit(order(UNKNOWN_PRODUCT)).getTrackingId();
+        String last = service.submit(order("Nut")).getTrackingId();
+        gate.countDown();
+        service.stop();
+
+        assertEquals(OrderIngestionStatus.COMPLETED, service.getStatus(warmUp).getStatus());
+        assertEquals(OrderIngestionStatus.COMPLETED, service.getStatus(first).getStatus());
+        assertEquals(OrderIngestionStatus.COMPLETED, service.getStatus(last).getStatus());
+
+        OrderIngestionStatusDTO failed = service.getStatus(failing);
+        assertEquals(OrderIngestionStatus.FAILED, failed.getStatus());
+        assertEquals("Product " + UNKNOWN_PRODUCT + " not found", failed.getMessage());
+
+        // Warm up, η παρτίδα των τριών που απορρίφθηκε και μία συναλλαγή ανά παραγγελία
+        verify(transactionTemplate, times(5)).execute(any());
+        verify(transactions.get(1)).setRollbackOnly();
+    }
+
+    @Test
+    void stopDrainsQueuedOrders() throws Exception {
+        service = newService(10, 1);
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            trackingIds.add(service.submit(order("Product " + i)).getTrackingId());
+        }
+
+        Thread stopper = new Thread(() -> {
+            try {
+                service.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        stopper.start();
+        // Το stop έχει σταματήσει τις νέες παραγγελίες και περιμένει τον worker
+        while (stopper.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(stopper.isAlive());
+            Thread.onSpinWait();
+        }
+        assertThrows(AppTooManyRequestsException.class, () -> service.submit(order("Late")));
+
+        gate.countDown();
+        stopper.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals(0, service.getQueueSize());
+        for (String trackingId : trackingIds) {
+            assertEquals(OrderIngestionStatus.COMPLETED, service.getStatus(trackingId).getStatus());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private OrderIngestionService newService(int queueCapacity, int workers) throws Exception {
+        when(orderService.saveOrder(any())).thenAnswer(invocation -> {
+            OrderInsertDTO order = invocation.getArgument(0);
+            String productName = order.getOrderItems().get(0).getProduct().getName();
+            if (UNKNOWN_PRODUCT.equals(productName)) {
+                throw new AppObjectNotFoundException("Product", "Product " + productName + " not found");
+            }
+            OrderReadOnlyDTO saved = new OrderReadOnlyDTO();
+            saved.setId(orderIds.incrementAndGet());
+            return saved;
+        });
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            if (firstTransaction.compareAndSet(true, false)) {
+                waiting.countDown();
+                assertTrue(gate.await(10, TimeUnit.SECONDS));
+            }
+            TransactionStatus status = mock(TransactionStatus.class);
+            synchronized (transactions) {
+                transactions.add(status);
+            }
+            return ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(status);
+        });
+
+        OrderIngestionService ingestion = new OrderIngestionService(orderService, transactionTemplate,
+                queueCapacity, workers, 10, Duration.ofHours(1), false);
+        ingestion.start();
+        return ingestion;
+    }
+
+    private OrderInsertDTO order(String productName) {
+        SupplierInsertDTO supplier = new SupplierInsertDTO();
+        supplier.setPhoneNumber("2100000000");
+
+        ProductInsertDTO product = new ProductInsertDTO();
+        product.setName(productName);
+
+        OrderItemInsertDTO orderItem = new OrderItemInsertDTO();
+        orderItem.setProduct(product);
+        orderItem.setQuantity(1);
+
+        OrderInsertDTO order = new OrderInsertDTO();
+        order.setSupplier(supplier);
+        order.setOrderItems(List.of(orderItem));
+        return order;
+    }
+}
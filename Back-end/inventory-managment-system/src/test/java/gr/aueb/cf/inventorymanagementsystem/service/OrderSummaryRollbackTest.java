@@ -0,0 +1,181 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderInsertDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderItemInsertDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderItemUpdateDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.OrderUpdateDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductInsertDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductUpdateDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.SupplierInsertDTO;
+import gr.aueb.cf.inventorymanagementsystem.dto.SupplierUpdateDTO;
+import gr.aueb.cf.inventorymanagementsystem.mapper.Mapper;
+import gr.aueb.cf.inventorymanagementsystem.model.Category;
+import gr.aueb.cf.inventorymanagementsystem.model.Product;
+import gr.aueb.cf.inventorymanagementsystem.model.ProductDailyOrderSummary;
+import gr.aueb.cf.inventorymanagementsystem.model.ProductDayId;
+import gr.aueb.cf.inventorymanagementsystem.model.Supplier;
+import gr.aueb.cf.inventorymanagementsystem.repository.CategoryRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.ProductDailyOrderSummaryRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.ProductRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that a failed order update leaves {@code product_daily_order_summary} as it was.
+ * The summary upsert is MySQL specific, so the test runs against a MySQL container.
+ *
+ * <p>Needs Docker; run with {@code ./gradlew mysqlTest}.</p>
+ */
+@Tag("mysql")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderService.class, OrderSummaryService.class, StockWriteBehindService.class, Mapper.class,
+        OrderSummaryRollbackTest.PasswordEncoderConfiguration.class})
+class OrderSummaryRollbackTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    static {
+        MYSQL.start();
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @SpyBean
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private ProductDailyOrderSummaryRepository summaryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Supplier supplier;
+    private Product product;
+    private Long orderId;
+
+    @BeforeEach
+    void saveOrder() throws Exception {
+        int n = SEQUENCE.incrementAndGet();
+        supplier = supplierRepository.save(new Supplier(null, "Supplier " + n, "supplier" + n + "@mail.com", "69000000" + n));
+        Category category = categoryRepository.save(new Category(null, "Category " + n));
+        product = productRepository.save(new Product(null, "Product " + n, "Description", 10.0, 100,
+                supplier, category, null));
+
+        orderId = orderService.saveOrder(orderInsert(product.getName(), 5)).getId();
+        assertEquals(5L, orderedToday(product));
+    }
+
+    @Test
+    void updateWithUnknownProductKeepsSummary() {
+        assertThrows(AppObjectNotFoundException.class,
+                () -> orderService.updateOrder(orderUpdate("No such product", 7)));
+
+        assertEquals(5L, orderedToday(product));
+    }
+
+    @Test
+    void updateFailingAfterRemoveOrderRollsBackSummary() {
+        doThrow(new IllegalStateException("summary insert failed")).when(orderSummaryService).addOrder(any());
+
+        assertThrows(IllegalStateException.class, () -> orderService.updateOrder(orderUpdate(product.getName(), 7)));
+
+        // Η αφαίρεση των παλιών ποσοτήτων έγινε και αναιρέθηκε με το rollback
+        verify(orderSummaryService).removeOrder(any());
+        assertEquals(5L, orderedToday(product));
+    }
+
+    @Test
+    void successfulUpdateReplacesQuantity() throws Exception {
+        orderService.updateOrder(orderUpdate(product.getName(), 7));
+
+        assertEquals(7L, orderedToday(product));
+    }
+
+    private long orderedToday(Product product) {
+        return summaryRepository.findById(new ProductDayId(product.getId(), LocalDate.now()))
+                .map(ProductDailyOrderSummary::getOrderedQty)
+                .orElse(0L);
+    }
+
+    private OrderInsertDTO orderInsert(String productName, int quantity) {
+        SupplierInsertDTO supplierDTO = new SupplierInsertDTO();
+        supplierDTO.setPhoneNumber(supplier.getPhoneNumber());
+
+        ProductInsertDTO productDTO = new ProductInsertDTO();
+        productDTO.setName(productName);
+
+        OrderItemInsertDTO orderItem = new OrderItemInsertDTO();
+        orderItem.setProduct(productDTO);
+        orderItem.setQuantity(quantity);
+
+        OrderInsertDTO order = new OrderInsertDTO();
+        order.setSupplier(supplierDTO);
+        order.setOrderItems(List.of(orderItem));
+        return order;
+    }
+
+    private OrderUpdateDTO orderUpdate(String productName, int quantity) {
+        SupplierUpdateDTO supplierDTO = new SupplierUpdateDTO();
+        supplierDTO.setPhoneNumber(supplier.getPhoneNumber());
+
+        ProductUpdateDTO productDTO = new ProductUpdateDTO();
+        productDTO.setName(productName);
+
+        OrderItemUpdateDTO orderItem = new OrderItemUpdateDTO();
+        orderItem.setProduct(productDTO);
+        orderItem.setQuantity(quantity);
+
+        OrderUpdateDTO order = new OrderUpdateDTO();
+        order.setId(orderId);
+        order.setSupplier(supplierDTO);
+        order.setOrderItems(List.of(orderItem));
+        return order;
+    }
+
+    @TestConfiguration
+    static class PasswordEncoderConfiguration {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
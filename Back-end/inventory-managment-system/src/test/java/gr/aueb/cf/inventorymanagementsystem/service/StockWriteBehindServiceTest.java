@@ -0,0 +1,292 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import gr.aueb.cf.inventorymanagementsystem.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.inventorymanagementsystem.dto.ProductReadOnlyDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the write-behind buffer against an in-memory products table. The JDBC batch applies the
+ * same {@code quantity + delta >= 0} guard as the flush UPDATE and can fail or block on demand.
+ * The locking read and the batch take a row lock that is released when their transaction ends,
+ * like the row lock of InnoDB.
+ */
+class StockWriteBehindServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+
+    private final Map<Long, Integer> table = new ConcurrentHashMap<>();
+    private final ReentrantLock rowLock = new ReentrantLock();
+    private final AtomicInteger flushes = new AtomicInteger();
+    private final AtomicInteger rejectedRows = new AtomicInteger();
+    private volatile int failEvery;
+    private volatile CountDownLatch committed;
+    private volatile CountDownLatch release;
+
+    private StockWriteBehindService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any()))
+                .thenAnswer(invocation -> {
+                    rowLock.lock();
+                    Integer quantity = table.get((Long) invocation.getArgument(2));
+                    return quantity != null ? List.of(quantity) : List.of();
+                });
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenAnswer(invocation -> writeBatch(invocation.getArgument(1)));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> inTransaction(() ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(mock(TransactionStatus.class))));
+
+        service = new StockWriteBehindService(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void reservationCannotOverdrawStock() throws Exception {
+        table.put(PRODUCT_ID, 5);
+
+        assertEquals(2, reserve(-3));
+        assertThrows(AppObjectInvalidArgumentException.class, () -> reserve(-3));
+        assertEquals(5, table.get(PRODUCT_ID));
+
+        service.flush();
+
+        assertEquals(2, table.get(PRODUCT_ID));
+        assertEquals(2, merged());
+    }
+
+    @Test
+    void reservationWhileFlushCommitsCountsTheFlushedDeltaOnce() throws Exception {
+        table.put(PRODUCT_ID, 10);
+        reserve(5);
+
+        committed = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> flush = executor.submit(service::flush);
+            assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+            // Η γραμμή έχει ήδη τα deltas του flush που δεν έχει ολοκληρωθεί ακόμη
+            assertEquals(15, table.get(PRODUCT_ID));
+            assertEquals(14, reserve(-1));
+            assertEquals(14, merged());
+
+            release.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(14, merged());
+        service.flush();
+        assertEquals(14, table.get(PRODUCT_ID));
+    }
+
+    @Test
+    void rolledBackFlushKeepsItsDeltas() throws Exception {
+        table.put(PRODUCT_ID, 10);
+        reserve(-4);
+
+        failEvery = 1;
+        service.flush();
+        assertEquals(10, table.get(PRODUCT_ID));
+        assertEquals(6, merged());
+        assertThrows(AppObjectInvalidArgumentException.class, () -> reserve(-7));
+
+        failEvery = 0;
+        service.flush();
+        assertEquals(6, table.get(PRODUCT_ID));
+        assertEquals(6, merged());
+    }
+
+    @Test
+    void concurrentReservationsWithFailingFlushesNeverOverdraw() throws Exception {
+        table.put(PRODUCT_ID, 100);
+        failEvery = 3;
+
+        int threads = 8;
+        int attempts = 50;
+        AtomicLong reserved = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            Future<?> flusher = executor.submit(() -> {
+                while (running.get()) {
+                    service.flush();
+                }
+            });
+
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < attempts; j++) {
+                        int delta = ThreadLocalRandom.current().nextInt(4) == 0 ? 1 : -1;
+                        try {
+                            reserve(delta);
+                            reserved.addAndGet(delta);
+                        } catch (AppObjectInvalidArgumentException e) {
+                            // Ανεπαρκές απόθεμα
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            flusher.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        failEvery = 0;
+        service.flush();
+
+        assertEquals(0, rejectedRows.get());
+        assertEquals(100 + reserved.get(), table.get(PRODUCT_ID).longValue());
+        assertTrue(table.get(PRODUCT_ID) >= 0);
+        assertEquals(table.get(PRODUCT_ID), merged());
+    }
+
+    @Test
+    void replacedQuantityDoesNotGetPendingDeltasAgain() throws Exception {
+        table.put(PRODUCT_ID, 10);
+        assertEquals(15, reserve(5));
+
+        // Ο client στέλνει πίσω το 15 που είδε, η γραμμή κρατά το 10
+        inTransaction(() -> {
+            int stored = service.lockStoredQuantity(PRODUCT_ID).orElseThrow();
+            service.replaceQuantity(PRODUCT_ID, stored, 15);
+            return null;
+        });
+        assertEquals(15, merged());
+
+        service.flush();
+        assertEquals(15, table.get(PRODUCT_ID));
+        assertEquals(15, merged());
+    }
+
+    @Test
+    void replacedQuantityWithoutBufferIsFlushed() {
+        table.put(PRODUCT_ID, 10);
+
+        service.replaceQuantity(PRODUCT_ID, 10, 7);
+        service.flush();
+
+        assertEquals(7, table.get(PRODUCT_ID));
+    }
+
+    @Test
+    void rejectedDeltaDropsTheBuffer() throws Exception {
+        table.put(PRODUCT_ID, 5);
+        reserve(-5);
+
+        // Η γραμμή μειώθηκε εκτός εφαρμογής
+        table.put(PRODUCT_ID, 2);
+        service.flush();
+
+        assertEquals(2, table.get(PRODUCT_ID));
+        assertEquals(2, merged());
+        assertEquals(1, reserve(-1));
+    }
+
+    private int reserve(int delta) throws AppObjectInvalidArgumentException {
+        return inTransaction(() -> service.reserve(PRODUCT_ID, delta, () -> Optional.of(storedProduct()))
+                .orElseThrow()
+                .getQuantity());
+    }
+
+    // Το commit ή το rollback αφήνει τα row locks του thread
+    private <T, E extends Exception> T inTransaction(TransactionBody<T, E> body) throws E {
+        try {
+            return body.run();
+        } finally {
+            while (rowLock.isHeldByCurrentThread()) {
+                rowLock.unlock();
+            }
+        }
+    }
+
+    private int merged() {
+        return service.merge(storedProduct()).getQuantity();
+    }
+
+    private ProductReadOnlyDTO storedProduct() {
+        ProductReadOnlyDTO product = new ProductReadOnlyDTO();
+        product.setId(PRODUCT_ID);
+        product.setQuantity(table.get(PRODUCT_ID));
+        return product;
+    }
+
+    private int[] writeBatch(List<Object[]> batch) throws InterruptedException {
+        if (failEvery > 0 && flushes.incrementAndGet() % failEvery == 0) {
+            throw new IllegalStateException("Simulated rollback");
+        }
+
+        rowLock.lock();
+        int[] counts = new int[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            long delta = (Long) batch.get(i)[0];
+            Long productId = (Long) batch.get(i)[2];
+            Integer quantity = table.get(productId);
+            if (quantity != null && quantity + delta >= 0) {
+                table.put(productId, Math.toIntExact(quantity + delta));
+                counts[i] = 1;
+            } else {
+                rejectedRows.incrementAndGet();
+            }
+        }
+
+        CountDownLatch committedLatch = committed;
+        if (committedLatch != null) {
+            committedLatch.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+        return counts;
+    }
+
+    @FunctionalInterface
+    private interface TransactionBody<T, E extends Exception> {
+        T run() throws E;
+    }
+}
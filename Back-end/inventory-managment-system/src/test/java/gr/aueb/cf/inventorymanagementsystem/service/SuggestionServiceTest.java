@@ -0,0 +1,106 @@
+package gr.aueb.cf.inventorymanagementsystem.service;
+
+import gr.aueb.cf.inventorymanagementsystem.core.enums.SuggestionType;
+import gr.aueb.cf.inventorymanagementsystem.dto.SuggestionDTO;
+import gr.aueb.cf.inventorymanagementsystem.repository.CategoryRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.ProductRepository;
+import gr.aueb.cf.inventorymanagementsystem.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The merge and limit of the suggestions and the load of the indexes, with mocked repositories.
+ * Outside a transaction the changes are applied at once.
+ */
+class SuggestionServiceTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final SupplierRepository supplierRepository = mock(SupplierRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private SuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SuggestionService(productRepository, supplierRepository, categoryRepository);
+        ReflectionTestUtils.setField(service, "defaultLimit", 3);
+        ReflectionTestUtils.setField(service, "maxLimit", 4);
+
+        when(productRepository.streamSuggestions()).thenReturn(Stream.of(
+                new SuggestionDTO(1L, "Bolt"), new SuggestionDTO(2L, "Brush"), new SuggestionDTO(3L, "Nut")));
+        when(supplierRepository.streamSuggestions()).thenReturn(Stream.of(
+                new SuggestionDTO(1L, "Bosch"), new SuggestionDTO(2L, "Makita")));
+        when(categoryRepository.streamSuggestions()).thenReturn(Stream.of(
+                new SuggestionDTO(1L, "Bathroom"), new SuggestionDTO(2L, "Bolts")));
+    }
+
+    @Test
+    void mergesAllTypesInNameOrder() {
+        service.load();
+
+        assertEquals(List.of("PRODUCT Bolt", "CATEGORY Bolts", "SUPPLIER Bosch"),
+                describe(service.suggest("bo", null, 10)));
+    }
+
+    @Test
+    void searchesOnlyTheRequestedTypes() {
+        service.load();
+
+        assertEquals(List.of("CATEGORY Bathroom", "CATEGORY Bolts", "SUPPLIER Bosch"),
+                describe(service.suggest("b", Set.of(SuggestionType.SUPPLIER, SuggestionType.CATEGORY), null)));
+    }
+
+    @Test
+    void appliesTheDefaultAndMaximumLimit() {
+        service.load();
+
+        assertEquals(List.of("CATEGORY Bathroom", "PRODUCT Bolt", "CATEGORY Bolts"),
+                describe(service.suggest("b", null, null)));
+        assertEquals(4, service.suggest("b", null, 100).size());
+        assertEquals(1, service.suggest("b", null, 1).size());
+        assertTrue(service.suggest(" ", null, null).isEmpty());
+    }
+
+    @Test
+    void changesDuringLoadAreNotOverwrittenByTheLoadedRows() {
+        // Οι αλλαγές γίνονται ενώ διαβάζονται οι γραμμές, που έχουν ακόμη τα παλιά ονόματα
+        when(productRepository.streamSuggestions()).thenReturn(Stream.of(
+                new SuggestionDTO(1L, "Bolt"), new SuggestionDTO(2L, "Brush"))
+                .peek(row -> {
+                    if (row.getId() == 1L) {
+                        service.remove(SuggestionType.PRODUCT, 1L);
+                        service.put(SuggestionType.PRODUCT, 2L, "Washer");
+                        service.put(SuggestionType.PRODUCT, 3L, "Bracket");
+                    }
+                }));
+
+        service.load();
+
+        assertEquals(List.of("PRODUCT Bracket"), describe(service.suggest("b", Set.of(SuggestionType.PRODUCT), 10)));
+        assertEquals(List.of("PRODUCT Washer"), describe(service.suggest("w", null, 10)));
+    }
+
+    @Test
+    void changesAfterLoadAreVisible() {
+        service.load();
+
+        service.put(SuggestionType.SUPPLIER, 3L, "Bostik");
+        service.remove(SuggestionType.PRODUCT, 1L);
+
+        assertEquals(List.of("SUPPLIER Bosch", "SUPPLIER Bostik"), describe(service.suggest("bos", null, 10)));
+        assertTrue(service.suggest("bolt", Set.of(SuggestionType.PRODUCT), 10).isEmpty());
+    }
+
+    private static List<String> describe(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(suggestion -> suggestion.getType() + " " + suggestion.getName()).toList();
+    }
+}